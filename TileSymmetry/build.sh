@@ -1,6 +1,6 @@
 #!/bin/bash
 
-javac edu/smcvt/tilesymmetry/*.java
-javac TileDriver.java
-javadoc -author -linksource -noqualifier java.util:java.io TileDriver.java edu.smcvt.tilesymmetry
-
+# Loose class files, next to their sources. For jars, use Maven (see README).
+javac core/src/main/java/edu/smcvt/tilesymmetry/*.java
+javac -cp core/src/main/java cli/src/main/java/TileDriver.java
+javadoc -author -linksource -noqualifier java.util:java.io -sourcepath core/src/main/java:cli/src/main/java cli/src/main/java/TileDriver.java edu.smcvt.tilesymmetry
@@ -0,0 +1,387 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+import edu.smcvt.tilesymmetry.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import javax.management.JMException;
+
+public class TileDriver{
+
+	private static final String[] UPPERS = {"\\  ", " | ", "  /",
+											"\\| ", "\\ /", " |/", "\\|/"};
+
+	private static final String[] MIDDLES = {" o ", "-o ", " o-", "-o-"};
+
+	private static final String[] BOTTOMS = {"/  ", " | ", "  \\",
+											 "/| ", "/ \\", " |\\", "/|\\"};
+
+	private static final String FIVESPACE = "     ";
+
+	private static void usage(){
+		System.err.println("Usage: java TileDriver [-r] [-lm | -os] numarms");
+		System.err.println("       java TileDriver -lm numarms catalog");
+		System.err.println("       java TileDriver -w catalog");
+		System.err.println("       java TileDriver -b [input | - [catalog]]");
+		System.err.println("       java TileDriver -i lattice [catalog]");
+		System.err.println("       java TileDriver -q required [forbidden [catalog]]");
+		System.err.println("       java TileDriver -s [port [catalog]]");
+		System.err.println("       java TileDriver -g shape [numarms]");
+		System.err.println("       java TileDriver -c | -all");
+		System.err.println("Any of these can start with -r, to count mirror images as the same tile.");
+		System.exit(1);
+	}
+
+	/* Batch mode writes nothing but results to stdout, so it skips the banner */
+	private static void batch(String args[], SymmetryEngine engine){
+		if(args.length > 3) usage();
+		String input = (args.length > 1) ? args[1] : "-";
+		try{
+			TileCatalog cat = (args.length > 2) ? TileCatalog.load(Paths.get(args[2]))
+												: new TileCatalog(engine);
+			Reader in = input.equals("-") ? new InputStreamReader(System.in)
+										  : Files.newBufferedReader(Paths.get(input));
+			BatchCanonicalizer bc = new BatchCanonicalizer(cat);
+			try{
+				bc.run(in, new OutputStreamWriter(System.out));
+			} finally{
+				in.close();
+			}
+			System.err.println("Canonicalised " + bc.getTiles() + " tiles, with " +
+							   bc.getErrors() + " errors");
+		} catch(IOException e){
+			System.err.println("Error: " + e);
+			System.exit(1);
+		}
+	}
+
+	/* Like batch mode, lattice mode writes nothing but the histogram to stdout */
+	private static void lattice(String args[], SymmetryEngine engine){
+		if(args.length < 2 || args.length > 3) usage();
+		try{
+			TileCatalog cat = (args.length > 2) ? TileCatalog.load(Paths.get(args[2]))
+												: new TileCatalog(engine);
+			LatticeClassifier lc = new LatticeClassifier(cat);
+			long start = System.nanoTime();
+			try(Reader in = args[1].equals("-") ? new InputStreamReader(System.in)
+												: Files.newBufferedReader(Paths.get(args[1]))){
+				lc.read(in);
+			}
+			long elapsed = System.nanoTime() - start;
+			lc.writeHistogram(new OutputStreamWriter(System.out));
+			System.err.println("Classified " + lc.getNodeCount() + " nodes, with " +
+							   lc.getStrutCount() + " struts, in " + (elapsed / 1000000) + " ms");
+		} catch(IOException e){
+			System.err.println("Error: " + e);
+			System.exit(1);
+		}
+	}
+
+	/* Query mode writes one line per matching tile type: its class id, its
+	 * lex-minimal form, and every tile of the type which matches */
+	private static void query(String args[], SymmetryEngine engine){
+		if(args.length < 2 || args.length > 4) usage();
+		int required = 0x00, forbidden = 0x00;
+		TileCatalog cat = null;
+		try{
+			required = BatchCanonicalizer.parse(args[1]);
+			if(args.length > 2 && !args[2].trim().isEmpty()) forbidden = BatchCanonicalizer.parse(args[2]);
+			cat = (args.length > 3) ? TileCatalog.load(Paths.get(args[3])) : new TileCatalog(engine);
+		} catch(IllegalArgumentException e){
+			System.err.println("Error: " + e.getMessage());
+			System.exit(1);
+		} catch(IOException e){
+			System.err.println("Error: " + e);
+			System.exit(1);
+		}
+		TileQueryIndex.Result result = new TileQueryIndex(cat).query(required, forbidden);
+		for(int id : result.getClassIds()){
+			int rep = cat.getClassRepresentative(id);
+			String names = Tile.toString(rep);
+			StringBuilder line = new StringBuilder().append(id).append("\t0x").append(Integer.toHexString(rep))
+													.append('\t').append(names.replaceAll(", $", "")).append('\t');
+			for(int tile : result.getTiles(id))
+				line.append("0x").append(Integer.toHexString(tile)).append(' ');
+			System.out.println(line.toString().trim());
+		}
+		System.err.println("Found " + result.getClassCount() + " tile types, in " +
+						   result.getTileCount() + " orientations");
+	}
+
+	public static void main(String args[]){
+		if(SymmetryMetrics.ENABLED){
+			try{
+				SymmetryMetrics.register();
+			} catch(JMException e){
+				System.err.println("Warning: Couldn't register metrics with JMX (" + e + ")");
+			}
+			Runtime.getRuntime().addShutdownHook(new Thread(() ->
+				System.err.print(SymmetryMetrics.report())));
+		}
+		SymmetryEngine engine = SymmetryEngine.DEFAULT;
+		boolean reflect = args.length > 0 && args[0].equals("-r");
+		if(reflect){
+			engine = new SymmetryEngine(true, true, null);
+			args = Arrays.copyOfRange(args, 1, args.length);
+		}
+		if(args.length > 0 && args[0].equals("-b")){
+			batch(args, engine);
+			return;
+		}
+		if(args.length > 0 && args[0].equals("-i")){
+			lattice(args, engine);
+			return;
+		}
+		if(args.length > 0 && args[0].equals("-q")){
+			query(args, engine);
+			return;
+		}
+		if(args.length > 0 && args[0].equals("-s")){
+			if(args.length > 3) usage();
+			String[] serverArgs = Arrays.copyOfRange(args, reflect ? 0 : 1, args.length);
+			if(reflect) serverArgs[0] = "-r";
+			TileServer.main(serverArgs);
+			return;
+		}
+		System.out.println("/-------------------------------------\\");
+		System.out.println("| --= TileSymmetry Driver Program =-- |");
+		System.out.println("|    ----= -- written  by -- =----    |");
+		System.out.println("| Thomas Dickerson  &&  Andrew Parent |");
+		System.out.println("|-------------------------------------|");
+
+		Random r = new Random();
+		int au, bu, cu, du, eu;
+		int am, bm, cm, dm, em;
+		int ab, bb, cb, db, eb;
+
+		au = r.nextInt(7);
+		bu = r.nextInt(7);
+		cu = r.nextInt(7);
+		du = r.nextInt(7);
+		eu = r.nextInt(7);
+		am = r.nextInt(4);
+		bm = r.nextInt(4);
+		cm = r.nextInt(4);
+		dm = r.nextInt(4);
+		em = r.nextInt(4);
+		ab = r.nextInt(7);
+		bb = r.nextInt(7);
+		cb = r.nextInt(7);
+		db = r.nextInt(7);
+		eb = r.nextInt(7);
+	
+		System.out.println("| " + UPPERS[au] + FIVESPACE + UPPERS[bu] + 
+					  FIVESPACE + UPPERS[cu] + FIVESPACE + UPPERS[du] + 
+					  FIVESPACE + UPPERS[eu] + " |");
+
+		System.out.println("| " + MIDDLES[am] + FIVESPACE + MIDDLES[bm] +
+					  FIVESPACE + MIDDLES[cm] + FIVESPACE + MIDDLES[dm] +
+					  FIVESPACE + MIDDLES[em] + " |");
+
+		System.out.println("| " + BOTTOMS[ab] + FIVESPACE + BOTTOMS[bb] +
+					  FIVESPACE + BOTTOMS[cb] + FIVESPACE + BOTTOMS[db] +
+					  FIVESPACE + BOTTOMS[eb] + " |");
+
+		System.out.println("\\-------------------------------------/");
+		if(args.length > 3 || args.length == 0){ usage(); }
+		boolean lm = false;
+		boolean orbstab = false;
+		boolean count = false;
+		boolean all = false;
+		String catalog = null;
+		boolean write = false;
+		PolyhedralSymmetry shape = null;
+		int x = -1;
+		try{
+			if(args.length == 1){
+				if(args[0].equals("-c")) count = true;
+				else if(args[0].equals("-all")) all = true;
+				else x = Integer.parseInt(args[0]);
+			} else if(args[0].equals("-w")){
+				if(args.length != 2) usage();
+				write = true;
+				catalog = args[1];
+			} else if(args[0].equals("-g")){
+				shape = PolyhedralSymmetry.forName(args[1], reflect);
+				if(shape == null) usage();
+				if(args.length == 3) x = Integer.parseInt(args[2]);
+				if(x > shape.getArmCount()) usage();
+			} else{
+				if(args[0].equals("-lm")) lm = true;
+				else if(args[0].equals("-os")) orbstab = true;
+				else { usage(); }
+				x = Integer.parseInt(args[1]);
+				if(args.length == 3){
+					if(!lm) usage();
+					catalog = args[2];
+					if(x < 0 || x > Tile.LENGTH) usage();
+				}
+			}
+		} catch(NumberFormatException e){
+			usage();
+		}
+
+		if(count){
+			BurnsideCounter counter = new BurnsideCounter(engine.getUseExtra(),
+														  engine.getUseReflections());
+			for(int n = 0; n <= Tile.LENGTH; n++){
+				System.out.println("There are " + counter.getCount(n) +
+								   " unique tile types with " + n + " arms");
+			}
+			System.out.println("Generating polynomial: " + counter.getPolynomial());
+			return;
+		}
+		if(write){
+			TileCatalog cat = new TileCatalog(engine);
+			try{
+				cat.write(Paths.get(catalog));
+			} catch(IOException e){
+				System.err.println("Error: Couldn't write " + catalog + " (" + e + ")");
+				System.exit(1);
+			}
+			System.out.println("Wrote " + cat.getClassCount() + " tile types to " + catalog);
+			return;
+		}
+		if(shape != null){
+			System.out.println(shape);
+			if(x < 0){
+				for(int n = 0; n <= shape.getArmCount(); n++){
+					System.out.println("There are " + shape.getClassCount(n) +
+									   " unique tile types with " + n + " arms");
+				}
+				return;
+			}
+			System.out.println("Tile types:");
+			for(int id = shape.getFirstClass(x); id < shape.getFirstClass(x + 1); id++){
+				int rep = shape.getClassRepresentative(id);
+				System.out.println(shape.toString(rep) + "\tOrbits: " + shape.getOrbitSize(rep) +
+								   "\tStabilizers: " + shape.getStabilizerSize(rep));
+			}
+			System.out.println("There are " + shape.getClassCount(x) +
+							   " unique tile types with " + x + " arms");
+			return;
+		}
+		if(all){
+			ParallelEnumerator pe = new ParallelEnumerator(engine);
+			List<LinkedList<Tile>> classes = pe.enumerateAll(true);
+			for(int n = 0; n <= Tile.LENGTH; n++){
+				System.out.println("Tile types:");
+				for(Tile tile : classes.get(n)){
+					Combo.printBitString(tile.getMask());
+				}
+				System.out.println("There are " + classes.get(n).size() +
+								   " unique tile types with " + n + " arms");
+			}
+			return;
+		}
+		
+		/* With a catalog, everything comes out of it instead of being computed */
+		TileCatalog cat = null;
+		if(catalog != null){
+			try{
+				cat = TileCatalog.load(Paths.get(catalog));
+			} catch(IOException e){
+				System.err.println("Error: Couldn't load " + catalog + " (" + e + ")");
+				System.exit(1);
+			}
+		}
+
+		Combo list = null;
+		LinkedList<Tile> tiles;
+		if(cat != null){
+			tiles = new LinkedList<Tile>();
+			for(int id = cat.getFirstClass(x); id < cat.getFirstClass(x + 1); id++){
+				tiles.add(new Tile(cat.getClassRepresentative(id)));
+			}
+		} else{
+			list = new Combo(x, true, engine);
+			tiles = list.getTiles();
+		}
+		System.out.println("Tile types:");
+		for(Tile tile : tiles){
+			Combo.printBitString(tile.getMask());
+		}
+		System.out.println("There are " + tiles.size() +
+						   " unique tile types with " + x + " arms");
+
+		if(orbstab){
+			int orbTotal = 0;
+			long[] countingUp = OrbitStabilizer.emptySet();
+			for(Tile tile : tiles){
+				OrbitStabilizer os = engine.orbitStabilizer(tile.getMask());
+				System.out.println("");
+				Combo.printBitString(tile.getMask());
+				os.printRotations();
+				System.out.println("Orbits:\t" + os.getOrbitSize());
+				System.out.println("Stabilizers:\t" + os.getStabilizerSize());
+				orbTotal += os.getOrbitSize();
+				os.addOrbitTo(countingUp);
+			}
+			System.out.println("Total Orbits:\t" + orbTotal);
+
+			list.clearCombos();
+			list.list(0, x, 0x00);
+
+			LinkedList<Tile> res = new LinkedList<Tile>();
+			for(Tile tile : list.getTiles()){
+				if(!OrbitStabilizer.inSet(countingUp, tile.getMask())){
+					res.add(tile);
+				}
+			}
+
+			//res now contains the tiles listed but never reached by rotation
+			System.out.println("Tiles NOT generated through rotation:");
+			if(res.size() == 0) System.out.println("None");
+			else{
+				for(Tile tile : res){
+					Combo.printBitString(tile.getMask());
+				}
+			}
+
+		}
+		
+		if(lm){
+			System.out.println("");
+			Scanner scan = new Scanner(System.in);
+			String scanned;
+			String[] arms;
+			int i;
+			CanonicalTable table = (cat != null) ? null : engine.getCanonicalTable();
+			do{
+				int mask = 0x00;
+
+				System.out.print("(type quit to exit) ");
+				scanned = scan.nextLine();
+				arms = scanned.split(",*\\s+");
+				if(arms.length >x) {
+					System.err.println("Warning: Read more arms than " +
+									   "were specified at runtime.");
+
+					System.err.println(" -ignoring last " + (arms.length - x));
+				} else if(arms.length < x){
+					System.err.println("Error: Incomplete tile. " + x + " arms required");
+					continue;
+				}
+				for(i = 0; i < x; i++){
+					String armsLC = arms[i].toLowerCase();
+					mask |= 0x01 << CuboctahedronSymmetry.a2I(armsLC);
+				}
+				if(Integer.bitCount(mask) != x){
+					System.err.println("Error: Repeated arm. " + x + " distinct arms required");
+					continue;
+				}
+
+				Combo.printBitString(mask, System.out, false);
+				System.out.print("is equivalent to the lex-minimal tile ");
+				Combo.printBitString((cat != null) ? cat.getRepresentative(mask)
+												   : table.getRepresentative(mask));
+				int elementId = (cat != null) ? cat.getElementId(mask) : table.getElementId(mask);
+				int rotTrack = CanonicalTable.rotTrack(elementId);
+				System.out.println("Orientation " + elementId + ":\t" +
+								   ((rotTrack == 0x00) ? "None" : CuboctahedronSymmetry.rotString(rotTrack)));
+			} while(!scanned.equals("quit"));
+		}	
+		System.out.println("");
+	}
+}
\ No newline at end of file
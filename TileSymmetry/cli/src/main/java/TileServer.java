@@ -0,0 +1,348 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+import edu.smcvt.tilesymmetry.*;
+import com.sun.net.httpserver.*;
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A TileServer answers tile queries over HTTP with JSON, so a single warm JVM,
+ * with its tables already built, can serve any number of jobs. Tiles are given
+ * the same way as to {@link BatchCanonicalizer}: arm names ("a2,b1,g3") or a
+ * hex mask ("0x122").
+ * <pre>
+ *   GET /canonical?tile=...&amp;tile=...    class id and lex-minimal form
+ *   GET /orientation?tile=...             element turning it into its lex-minimal form
+ *   GET /orbit?tile=...                   orbit
+ *   GET /stabilizer?tile=...              stabilizer
+ *   GET /classes?n=3                      every class with n arms
+ *   GET /query?required=...&amp;forbidden=... every class which can be turned to match
+ * </pre>
+ * The first four also take a POST whose body holds one tile per line, for
+ * batches too large for a URL. Every tile gets its own entry in "results",
+ * holding either the answer or an "error".
+ * <p>
+ * Unless told otherwise, the server only listens on the loopback address, so
+ * it can't be reached from other machines.
+ * @see TileDriver
+ */
+public class TileServer{
+
+	private static final int MAX_TILES = 0x10000;	// Per request
+	private static final int MAX_LINE = 0x100;		// Characters per tile in a POST body
+
+	private final TileCatalog catalog;
+	private final SymmetryEngine engine;
+	private final TileQueryIndex index;
+	private HttpServer server;
+	private ExecutorService pool;
+
+	/**
+	 * @param cat The catalog to answer class queries from. Orbits and stabilizers
+	 * are computed with the same settings for the special case rotations and reflections.
+	 */
+	public TileServer(TileCatalog cat){
+		catalog = cat;
+		engine = new SymmetryEngine(cat.getUseExtra(), cat.getUseReflections(), null);
+		index = new TileQueryIndex(cat);
+	}
+
+	/**
+	 * Starts listening on a port of the loopback address, with one handler
+	 * thread per processor.
+	 * @param port The port to listen on, or 0 for any free port.
+	 * @return The address actually being listened on.
+	 * @throws IOException If the port can't be bound.
+	 */
+	public InetSocketAddress start(int port) throws IOException{
+		return start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+	}
+
+	/**
+	 * Starts listening, with one handler thread per processor.
+	 * @param addr The address and port to listen on. A wildcard address makes
+	 * the server reachable from other machines.
+	 * @return The address actually being listened on.
+	 * @throws IOException If the address can't be bound.
+	 */
+	public InetSocketAddress start(InetSocketAddress addr) throws IOException{
+		server = HttpServer.create(addr, 0x00);
+		server.createContext("/canonical", ex -> tiles(ex, this::canonical));
+		server.createContext("/orientation", ex -> tiles(ex, this::orientation));
+		server.createContext("/orbit", ex -> tiles(ex, this::orbit));
+		server.createContext("/stabilizer", ex -> tiles(ex, this::stabilizer));
+		server.createContext("/classes", this::classes);
+		server.createContext("/query", this::query);
+		pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		server.setExecutor(pool);
+		server.start();
+		return server.getAddress();
+	}
+
+	/**
+	 * Stops the server, letting requests already being answered finish.
+	 */
+	public void stop(){
+		server.stop(0x01);
+		pool.shutdown();
+	}
+
+	private interface TileQuery{
+		void answer(int mask, StringBuilder json);
+	}
+
+	private void canonical(int mask, StringBuilder json){
+		int id = catalog.getClassId(mask);
+		json.append(",\"classId\":").append(id);
+		json.append(",\"canonical\":");
+		appendMask(json, catalog.getClassRepresentative(id));
+	}
+
+	private void orientation(int mask, StringBuilder json){
+		json.append(",\"canonical\":");
+		appendMask(json, catalog.getRepresentative(mask));
+		json.append(",\"elementId\":").append(catalog.getElementId(mask));
+		json.append(",\"rotTrack\":").append(catalog.getRotTrack(mask)).append(",\"rotations\":[");
+		String[] rotations = CuboctahedronSymmetry.rotString(catalog.getRotTrack(mask)).split(",\t");
+		for(int i = 0x00; i < rotations.length; i++){
+			if(rotations[i].isEmpty()) continue;
+			if(i > 0x00) json.append(',');
+			appendString(json, rotations[i]);
+		}
+		json.append(']');
+	}
+
+	private void orbit(int mask, StringBuilder json){
+		OrbitStabilizer os = engine.orbitStabilizer(mask);
+		json.append(",\"orbitSize\":").append(os.getOrbitSize()).append(",\"orbit\":[");
+		int[] orbit = os.getOrbitMasks();
+		for(int i = 0x00; i < orbit.length; i++){
+			if(i > 0x00) json.append(',');
+			json.append("\"0x").append(Integer.toHexString(orbit[i])).append('"');
+		}
+		json.append(']');
+	}
+
+	private void stabilizer(int mask, StringBuilder json){
+		OrbitStabilizer os = engine.orbitStabilizer(mask);
+		json.append(",\"stabilizerSize\":").append(os.getStabilizerSize()).append(",\"stabilizer\":");
+		json.append(Arrays.toString(os.getStabilizer()).replace(" ", ""));
+	}
+
+	/* Reads the tiles from the query string or the body, and answers each one */
+	private void tiles(HttpExchange ex, TileQuery q) throws IOException{
+		List<String> tiles;
+		if(ex.getRequestMethod().equals("GET")){
+			tiles = params(ex.getRequestURI().getRawQuery()).get("tile");
+			if(tiles == null){
+				send(ex, 400, error("no tile given"));
+				return;
+			}
+		} else if(ex.getRequestMethod().equals("POST")){
+			tiles = readTiles(ex.getRequestBody());
+		} else{
+			send(ex, 405, error("use GET or POST"));
+			return;
+		}
+		if(tiles == null || tiles.size() > MAX_TILES){
+			send(ex, 413, error("at most " + MAX_TILES + " tiles per request, of at most " +
+								MAX_LINE + " characters each"));
+			return;
+		}
+
+		StringBuilder json = new StringBuilder("{\"results\":[");
+		for(int i = 0x00; i < tiles.size(); i++){
+			if(i > 0x00) json.append(',');
+			try{
+				int mask = BatchCanonicalizer.parse(tiles.get(i));
+				json.append("{\"tile\":");
+				appendMask(json, mask);
+				q.answer(mask, json);
+			} catch(IllegalArgumentException e){
+				json.append("{\"tile\":");
+				appendString(json, tiles.get(i));
+				json.append(",\"error\":");
+				appendString(json, e.getMessage());
+			}
+			json.append('}');
+		}
+		send(ex, 200, json.append("]}").toString());
+	}
+
+	/* Reads a POST body's tiles, one per line, giving up with null as soon as
+	 * there are too many or a line is too long, so the rest is never held. */
+	private static List<String> readTiles(InputStream body) throws IOException{
+		List<String> tiles = new ArrayList<String>();
+		Reader r = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+		StringBuilder line = new StringBuilder();
+		for(int c = r.read(); ; c = r.read()){
+			if(c >= 0x00 && c != '\n'){
+				if(line.length() == MAX_LINE) return null;
+				line.append((char)c);
+				continue;
+			}
+			String tile = line.toString().trim();
+			if(!tile.isEmpty()){
+				if(tiles.size() == MAX_TILES) return null;
+				tiles.add(tile);
+			}
+			if(c < 0x00) return tiles;
+			line.setLength(0x00);
+		}
+	}
+
+	private void classes(HttpExchange ex) throws IOException{
+		if(!ex.getRequestMethod().equals("GET")){
+			send(ex, 405, error("use GET"));
+			return;
+		}
+		List<String> ns = params(ex.getRequestURI().getRawQuery()).get("n");
+		int n = -1;
+		try{
+			if(ns != null && ns.size() == 0x01) n = Integer.parseInt(ns.get(0x00));
+		} catch(NumberFormatException e){}
+		if(n < 0x00 || n > Tile.LENGTH){
+			send(ex, 400, error("n must be a number of arms, from 0 to 12"));
+			return;
+		}
+		StringBuilder json = new StringBuilder("{\"arms\":").append(n).append(",\"classes\":[");
+		for(int id = catalog.getFirstClass(n); id < catalog.getFirstClass(n + 0x01); id++){
+			if(id > catalog.getFirstClass(n)) json.append(',');
+			json.append("{\"classId\":").append(id).append(",\"canonical\":");
+			appendMask(json, catalog.getClassRepresentative(id));
+			json.append(",\"orbitSize\":").append(catalog.getOrbitSize(id));
+			json.append(",\"stabilizerSize\":").append(catalog.getStabilizerSize(id)).append('}');
+		}
+		send(ex, 200, json.append("]}").toString());
+	}
+
+	private void query(HttpExchange ex) throws IOException{
+		if(!ex.getRequestMethod().equals("GET")){
+			send(ex, 405, error("use GET"));
+			return;
+		}
+		Map<String, List<String>> params = params(ex.getRequestURI().getRawQuery());
+		int required, forbidden;
+		try{
+			required = mask(params.get("required"));
+			forbidden = mask(params.get("forbidden"));
+		} catch(IllegalArgumentException e){
+			send(ex, 400, error(e.getMessage()));
+			return;
+		}
+		TileQueryIndex.Result result = index.query(required, forbidden);
+		StringBuilder json = new StringBuilder("{\"required\":");
+		appendMask(json, required);
+		json.append(",\"forbidden\":");
+		appendMask(json, forbidden);
+		json.append(",\"classes\":[");
+		int[] classIds = result.getClassIds();
+		for(int i = 0x00; i < classIds.length; i++){
+			if(i > 0x00) json.append(',');
+			json.append("{\"classId\":").append(classIds[i]).append(",\"canonical\":");
+			appendMask(json, catalog.getClassRepresentative(classIds[i]));
+			json.append(",\"orientations\":[");
+			int[] tiles = result.getTiles(classIds[i]);
+			int[] elements = result.getElementIds(classIds[i]);
+			for(int j = 0x00; j < tiles.length; j++){
+				if(j > 0x00) json.append(',');
+				json.append("{\"tile\":");
+				appendMask(json, tiles[j]);
+				json.append(",\"elementId\":").append(elements[j]).append('}');
+			}
+			json.append("]}");
+		}
+		send(ex, 200, json.append("]}").toString());
+	}
+
+	/* Arms given to /query, in one parameter or several, or none at all */
+	private static int mask(List<String> values){
+		int mask = 0x00;
+		if(values != null)
+			for(String value : values)
+				if(!value.trim().isEmpty()) mask |= BatchCanonicalizer.parse(value);
+		return mask;
+	}
+
+	/* A mask, as its hex value and its arm names */
+	private static void appendMask(StringBuilder json, int mask){
+		json.append("{\"mask\":\"0x").append(Integer.toHexString(mask)).append("\",\"arms\":[");
+		boolean first = true;
+		for(int arm = 0x00; arm < Tile.LENGTH; arm++){
+			if((mask & (0x01 << arm)) == 0x00) continue;
+			if(!first) json.append(',');
+			json.append('"').append(Tile.armName(arm)).append('"');
+			first = false;
+		}
+		json.append("]}");
+	}
+
+	private static void appendString(StringBuilder json, String s){
+		json.append('"');
+		for(int i = 0x00; i < s.length(); i++){
+			char c = s.charAt(i);
+			if(c == '"' || c == '\\') json.append('\\').append(c);
+			else if(c < 0x20) json.append(String.format("\\u%04x", (int)c));
+			else json.append(c);
+		}
+		json.append('"');
+	}
+
+	private static String error(String message){
+		StringBuilder json = new StringBuilder("{\"error\":");
+		appendString(json, message);
+		return json.append('}').toString();
+	}
+
+	private static Map<String, List<String>> params(String query){
+		Map<String, List<String>> params = new HashMap<String, List<String>>();
+		if(query == null) return params;
+		for(String pair : query.split("&")){
+			int eq = pair.indexOf('=');
+			if(eq < 0x00) continue;
+			String key = URLDecoder.decode(pair.substring(0x00, eq), StandardCharsets.UTF_8);
+			String value = URLDecoder.decode(pair.substring(eq + 0x01), StandardCharsets.UTF_8);
+			if(!params.containsKey(key)) params.put(key, new ArrayList<String>());
+			params.get(key).add(value);
+		}
+		return params;
+	}
+
+	private static void send(HttpExchange ex, int status, String json) throws IOException{
+		byte[] body = json.getBytes(StandardCharsets.UTF_8);
+		ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		ex.sendResponseHeaders(status, body.length);
+		try(OutputStream out = ex.getResponseBody()){
+			out.write(body);
+		}
+	}
+
+	/**
+	 * Runs a server on the loopback address until the JVM is stopped.
+	 * @param args Optionally -r, to count mirror images as the same tile, then the
+	 * port to listen on (8080 if not given), and optionally a catalog written by
+	 * TileDriver -w to answer from, whose own setting for reflections is used.
+	 */
+	public static void main(String args[]){
+		boolean reflect = args.length > 0 && args[0].equals("-r");
+		if(reflect) args = Arrays.copyOfRange(args, 1, args.length);
+		try{
+			int port = (args.length > 0) ? Integer.parseInt(args[0]) : 8080;
+			TileCatalog cat = (args.length > 1) ? TileCatalog.load(Paths.get(args[1]))
+												: new TileCatalog(new SymmetryEngine(true, reflect, null));
+			InetSocketAddress addr = new TileServer(cat).start(port);
+			System.err.println("Listening on " + addr.getAddress().getHostAddress() + " port " + addr.getPort());
+		} catch(NumberFormatException e){
+			System.err.println("Usage: java TileServer [-r] [port [catalog]]");
+			System.exit(1);
+		} catch(IOException e){
+			System.err.println("Error: " + e);
+			System.exit(1);
+		}
+	}
+}
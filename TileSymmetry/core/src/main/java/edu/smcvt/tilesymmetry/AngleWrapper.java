@@ -13,9 +13,12 @@ import edu.smcvt.tilesymmetry.*;
  * an accessor method to retrieve the contents, and overridden equals() and
  * hashCode() methods.
  * @author Thomas Dickerson
+ * @deprecated {@link CuboctahedronLUT} now groups tiles by fingerprint, so
+ * nothing uses this any more; it will be removed in the next release.
  * @see BitStringWrapper
+ * @see CuboctahedronLUT#getFingerprint
  */
-
+@Deprecated
 public class AngleWrapper{
 	private int[] angles;
 
@@ -0,0 +1,315 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.util.*;
+import java.util.function.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * An AugmentingEnumerator finds the tile types for every arm count by growing
+ * them from the ones with an arm fewer, rather than listing every subset of the
+ * arms the way {@link Combo} does. Each (n+1)-armed tile type has exactly one
+ * parent: the type of the tile left by taking its last arm off its lex-minimal
+ * tile. Adding each missing arm to each n-armed lex-minimal tile, and keeping
+ * only the children whose parent that tile is, reaches every (n+1)-armed type
+ * exactly once, without ever listing a tile which isn't a child of one.
+ * <p>
+ * Each candidate is put into lex-minimal form straight from the group: every
+ * element is applied to it and the lex-least result kept, so nothing is
+ * precomputed over all the tiles, and only the types actually reached are ever
+ * held. The special case rotations aren't a group, so with them the candidate's
+ * orbit is walked instead, from that one tile.
+ * <p>
+ * For the same reason, with the special cases the tile left by taking the last
+ * arm off doesn't always grow back into the same type. The parent is then the
+ * type left by taking off the last arm that does.
+ * <p>
+ * Along the way it records every type each tile type grows into with one more
+ * arm, which makes the inclusion (Hasse) graph of tile types over all arm counts.
+ * <p>
+ * Types are numbered as {@link CanonicalTable} and {@link PolyhedralSymmetry}
+ * number them: by arm count, then by lex-minimal tile.
+ * @see Combo
+ */
+public final class AugmentingEnumerator{
+
+	private final int arms;
+	private final int[] reps;			// Indexed by type id
+	private final int[] firstType;		// Indexed by arm count, up to arms + 1
+	private final int[] parents;		// Indexed by type id: its canonical parent, or -1
+	private final int[][] children;		// Indexed by type id: every type one arm up
+	private final int[][] contained;		// Indexed by type id: every type one arm down
+	private long candidates;
+
+	/**
+	 * Enumerates the tile types of the cuboctahedron.
+	 * @param e The engine whose settings decide which tiles are symmetric.
+	 */
+	public AugmentingEnumerator(SymmetryEngine e){
+		this(Tile.LENGTH, canonical(e), Tile::lexKey);
+	}
+
+	/**
+	 * Enumerates the tile types of any geometry.
+	 * @param ps The geometry, and the group deciding which of its tiles are symmetric.
+	 */
+	public AugmentingEnumerator(PolyhedralSymmetry ps){
+		this(ps.getArmCount(), mask -> {
+			int min = mask;
+			for(int id = 0x00; id < ps.getOrder(); id++){
+				int r = ps.apply(id, mask);
+				if(ps.lexKey(r) < ps.lexKey(min)) min = r;
+			}
+			return min;
+		}, ps::lexKey);
+	}
+
+	/**
+	 * Finds lex-minimal tiles the way an engine's settings say.
+	 * @param e The engine whose settings decide which tiles are symmetric.
+	 * @return Takes a tile to the lex-minimal tile it is symmetric to, as masks:
+	 * the least of the plain elements (and, with reflections, the same after the
+	 * central inversion) applied to it, or with the special cases, the least
+	 * tile in its orbit.
+	 */
+	private static IntUnaryOperator canonical(SymmetryEngine e){
+		SymmetryTable table = SymmetryTable.CUBOCTAHEDRON;
+		boolean reflect = e.getUseReflections();
+		if(e.getUseExtra()){
+			boolean[] seen = new boolean[Tile.COUNT];
+			int[] orbit = new int[Tile.COUNT];
+			return mask -> {
+				int size = table.walkOrbit(mask, true, reflect, seen, orbit);
+				int min = mask;
+				for(int i = 0x00; i < size; i++){
+					if(Tile.lexKey(orbit[i]) < Tile.lexKey(min)) min = orbit[i];
+					seen[orbit[i]] = false;
+				}
+				return min;
+			};
+		}
+		int[] plain = new int[table.size()];
+		int count = 0x00;
+		for(int id = 0x00; id < table.size(); id++)
+			if(!table.isSpecialCase(id)) plain[count++] = id;
+		int[] ids = Arrays.copyOf(plain, count);
+		return mask -> {
+			int min = mask;
+			for(int pass = 0x00; pass < (reflect ? 0x02 : 0x01); pass++){
+				int b = (pass == 0x00) ? mask : table.invert(mask);
+				for(int id : ids){
+					int r = table.apply(id, b);
+					if(Tile.lexKey(r) < Tile.lexKey(min)) min = r;
+				}
+			}
+			return min;
+		};
+	}
+
+	/**
+	 * @param n The number of arms.
+	 * @param canonical Takes a tile to the lex-minimal tile it is symmetric to, as masks.
+	 * @param lexKey Maps a mask to a key ordering tiles lexicographically.
+	 */
+	private AugmentingEnumerator(int n, IntUnaryOperator canonical, IntUnaryOperator lexKey){
+		arms = n;
+		firstType = new int[arms + 0x02];
+		List<int[]> levels = new ArrayList<int[]>();
+		levels.add(new int[]{ 0x00 });
+		firstType[0x01] = 0x01;
+
+		/* Grow each level from the one before, keeping each child only from its parent */
+		int[] children = new int[arms];
+		for(int k = 0x00; k < arms; k++){
+			int[] level = levels.get(k);
+			int[] next = new int[0x10];
+			int size = 0x00;
+			for(int rep : level){
+				int found = 0x00;
+				for(int arm = 0x00; arm < arms; arm++){
+					if((rep & (0x01 << arm)) != 0x00) continue;
+					candidates++;
+					int child = canonical.applyAsInt(rep | (0x01 << arm));
+					if(parent(child, canonical) != rep) continue;
+					boolean repeat = false;
+					for(int i = 0x00; i < found && !repeat; i++)
+						repeat = children[i] == child;
+					if(repeat) continue;
+					children[found++] = child;
+					if(size == next.length) next = Arrays.copyOf(next, size << 0x01);
+					next[size++] = child;
+				}
+			}
+			next = sortByKey(Arrays.copyOf(next, size), lexKey);
+			levels.add(next);
+			firstType[k + 0x02] = firstType[k + 0x01] + size;
+		}
+		reps = new int[firstType[arms + 0x01]];
+		for(int k = 0x00; k <= arms; k++)
+			System.arraycopy(levels.get(k), 0x00, reps, firstType[k], levels.get(k).length);
+
+		/* The graph is built by masks, then renumbered by type id */
+		Map<Integer, Integer> ids = new HashMap<Integer, Integer>();
+		for(int id = 0x00; id < reps.length; id++)
+			ids.put(reps[id], id);
+		parents = new int[reps.length];
+		this.children = new int[reps.length][];
+		contained = new int[reps.length][];
+		int[] downCounts = new int[reps.length];
+		parents[0x00] = -1;
+		for(int id = 0x00; id < reps.length; id++){
+			int rep = reps[id];
+			if(rep != 0x00) parents[id] = ids.get(parent(rep, canonical));
+			TreeSet<Integer> up = new TreeSet<Integer>();
+			for(int arm = 0x00; arm < arms; arm++)
+				if((rep & (0x01 << arm)) == 0x00) up.add(ids.get(canonical.applyAsInt(rep | (0x01 << arm))));
+			this.children[id] = new int[up.size()];
+			int i = 0x00;
+			for(int child : up){
+				this.children[id][i++] = child;
+				downCounts[child]++;
+			}
+		}
+		for(int id = 0x00; id < reps.length; id++)
+			contained[id] = new int[downCounts[id]];
+		Arrays.fill(downCounts, 0x00);
+		for(int id = 0x00; id < reps.length; id++)
+			for(int child : this.children[id])
+				contained[child][downCounts[child]++] = id;
+	}
+
+	/* The type left by taking the last arm it can off a lex-minimal tile, and still grow back */
+	private int parent(int child, IntUnaryOperator canonical){
+		for(int rest = child; rest != 0x00; rest &= ~Integer.highestOneBit(rest)){
+			int rep = canonical.applyAsInt(child & ~Integer.highestOneBit(rest));
+			for(int arm = 0x00; arm < arms; arm++)
+				if((rep & (0x01 << arm)) == 0x00 && canonical.applyAsInt(rep | (0x01 << arm)) == child)
+					return rep;
+		}
+		return -1;
+	}
+
+	private static int[] sortByKey(int[] masks, IntUnaryOperator lexKey){
+		for(int i = 0x00; i < masks.length; i++)
+			masks[i] = lexKey.applyAsInt(masks[i]);
+		Arrays.sort(masks);
+		for(int i = 0x00; i < masks.length; i++)
+			masks[i] = lexKey.applyAsInt(masks[i]);	// lexKey is its own inverse
+		return masks;
+	}
+
+	/**
+	 * @return The number of arms.
+	 */
+	public int getArmCount(){	return arms;	}
+
+	/**
+	 * @return The number of tile types, over all arm counts.
+	 */
+	public int getClassCount(){	return reps.length;	}
+
+	/**
+	 * @param n The number of arms per tile.
+	 * @return The number of tile types with n arms.
+	 */
+	public int getClassCount(int n){	return firstType[n + 0x01] - firstType[n];	}
+
+	/**
+	 * @param n The number of arms per tile, up to one more than the number of arms.
+	 * @return The id of the first tile type with n arms.
+	 */
+	public int getFirstClass(int n){	return firstType[n];	}
+
+	/**
+	 * @param classId A type id.
+	 * @return The lex-minimal tile of that type, as a mask.
+	 */
+	public int getClassRepresentative(int classId){	return reps[classId];	}
+
+	/**
+	 * @param classId A type id.
+	 * @return The id of the type it was grown from, or -1 for the tile with no arms.
+	 */
+	public int getParent(int classId){	return parents[classId];	}
+
+	/**
+	 * @param classId A type id.
+	 * @return A copy of the ids of the types with one more arm containing it, in increasing order.
+	 */
+	public int[] getChildren(int classId){	return children[classId].clone();	}
+
+	/**
+	 * @param classId A type id.
+	 * @return A copy of the ids of the types with one arm fewer contained in it, in increasing order.
+	 */
+	public int[] getContained(int classId){	return contained[classId].clone();	}
+
+	/**
+	 * @return The number of children tried, over all arm counts.
+	 */
+	public long getCandidates(){	return candidates;	}
+
+	/**
+	 * @return The number of edges in the inclusion graph.
+	 */
+	public int getEdgeCount(){
+		int edges = 0x00;
+		for(int[] up : children)
+			edges += up.length;
+		return edges;
+	}
+
+	/**
+	 * This is a test driver which grows the tile types of the cuboctahedron with
+	 * each setting, and of each built-in {@link PolyhedralSymmetry}, and checks
+	 * them, along with their inclusion graphs, against the tables
+	 * {@link CanonicalTable} and PolyhedralSymmetry build from every tile, which
+	 * the enumerator itself never looks at. It exits with status 1 if anything differs.
+	 * It doesn't care about args.
+	 */
+	public static void main(String args[]){
+		boolean allSame = true;
+		for(int pass = 0x00; pass < 0x04; pass++){
+			SymmetryEngine e = new SymmetryEngine((pass & 0x01) == 0x00, (pass & 0x02) != 0x00, null);
+			CanonicalTable table = e.getCanonicalTable();
+			AugmentingEnumerator ae = new AugmentingEnumerator(e);
+			boolean same = ae.getClassCount() == table.getClassCount();
+			for(int id = 0x00; same && id < ae.getClassCount(); id++)
+				same &= ae.getClassRepresentative(id) == table.getClassRepresentative(id) &&
+						ae.getChildren(id).length == children(ae, id, Tile.LENGTH, table::getClassId);
+			System.out.println("Extra: " + e.getUseExtra() + "\tReflections: " + e.getUseReflections() +
+							   "\t" + ae.getClassCount() + " types, " + ae.getEdgeCount() + " edges, from " +
+							   ae.getCandidates() + " candidates\t" + (same ? "same" : "DIFFERENT"));
+			allSame &= same;
+		}
+		for(boolean reflect : new boolean[]{ false, true })
+			for(String name : new String[]{ "octahedron", "cube", "cuboctahedron", "rhombic-dodecahedron" }){
+				PolyhedralSymmetry ps = PolyhedralSymmetry.forName(name, reflect);
+				AugmentingEnumerator ae = new AugmentingEnumerator(ps);
+				boolean same = ae.getClassCount() == ps.getClassCount();
+				for(int id = 0x00; same && id < ae.getClassCount(); id++)
+					same &= ae.getClassRepresentative(id) == ps.getClassRepresentative(id) &&
+							ae.getChildren(id).length == children(ae, id, ps.getArmCount(), ps::getClassId);
+				System.out.println(ps + ": " + ae.getClassCount() + " types, " + ae.getEdgeCount() +
+								   " edges, from " + ae.getCandidates() + " candidates\t" +
+								   (same ? "same" : "DIFFERENT"));
+				allSame &= same;
+			}
+		if(!allSame) System.exit(0x01);
+	}
+
+	/* Counts the types one arm up from a type by trying every tile in it */
+	private static int children(AugmentingEnumerator ae, int id, int arms, IntUnaryOperator classId){
+		int rep = ae.getClassRepresentative(id);
+		BitSet up = new BitSet();
+		for(int mask = 0x00; mask < (0x01 << arms); mask++)
+			if(Integer.bitCount(mask) == Integer.bitCount(rep) + 0x01 && (mask & rep) == rep)
+				up.set(classId.applyAsInt(mask));
+		boolean same = up.cardinality() == ae.getChildren(id).length;
+		for(int child : ae.getChildren(id))
+			same &= up.get(child) && Arrays.binarySearch(ae.getContained(child), id) >= 0x00;
+		return same ? up.cardinality() : -1;
+	}
+}
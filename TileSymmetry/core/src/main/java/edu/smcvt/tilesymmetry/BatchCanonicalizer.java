@@ -0,0 +1,188 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.io.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * A BatchCanonicalizer reads tiles one per line and writes out the class of
+ * each, for feeding large numbers of tiles through without any interaction.
+ * A line is either a list of arm names separated by commas and/or spaces, in
+ * any case and order ("g3, b1 A2"), or a single hex mask ("0x122").
+ * Blank lines and lines starting with '#' are skipped, so the tile with no
+ * arms can only be given as "0x0".
+ * <p>
+ * Each tile produces one line of output: its class id, its lex-minimal tile as
+ * a hex mask, and the same tile as arm names, separated by tabs, e.g.
+ * "17\t0x111\tA1, B1, G1". A line which can't be read produces
+ * "error\t" followed by the line number and what was wrong with it, and
+ * the batch carries on.
+ * @see TileCatalog
+ */
+public final class BatchCanonicalizer{
+
+	private final TileCatalog catalog;
+	private final String[] classLines;	// Indexed by class id: everything after the id
+	private long tiles, errors;
+
+	/**
+	 * @param cat The catalog to look tiles up in.
+	 */
+	public BatchCanonicalizer(TileCatalog cat){
+		catalog = cat;
+		classLines = new String[cat.getClassCount()];
+		for(int id = 0x00; id < classLines.length; id++){
+			int rep = cat.getClassRepresentative(id);
+			classLines[id] = id + "\t0x" + Integer.toHexString(rep) + "\t" + names(rep);
+		}
+	}
+
+	/**
+	 * @return The number of tiles canonicalised so far.
+	 */
+	public long getTiles(){	return tiles;	}
+
+	/**
+	 * @return The number of lines which couldn't be read so far.
+	 */
+	public long getErrors(){	return errors;	}
+
+	/**
+	 * Canonicalises every tile read from in, writing one line to out for each.
+	 * @param in Where to read tiles from. It is buffered here, so needn't be already.
+	 * @param out Where to write the results. It is buffered here, and flushed at the end.
+	 * @throws IOException If reading or writing fails.
+	 */
+	public void run(Reader in, Writer out) throws IOException{
+		BufferedReader r = (in instanceof BufferedReader) ? (BufferedReader)in : new BufferedReader(in, 0x10000);
+		BufferedWriter w = new BufferedWriter(out, 0x10000);
+		String line;
+		long lineNo = 0x00;
+		while((line = r.readLine()) != null){
+			lineNo++;
+			if(skip(line)) continue;
+			try{
+				w.write(classLines[catalog.getClassId(parse(line))]);
+				tiles++;
+			} catch(IllegalArgumentException e){
+				w.write("error\tline " + lineNo + ": " + e.getMessage());
+				errors++;
+			}
+			w.write('\n');
+		}
+		w.flush();
+	}
+
+	private static boolean skip(String line){
+		for(int i = 0x00; i < line.length(); i++){
+			char c = line.charAt(i);
+			if(c == '#') return true;
+			if(!Character.isWhitespace(c)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Reads a single tile, as arm names or a hex mask.
+	 * @param line The tile, e.g. "a1, b3 G4" or "0x111".
+	 * @return The tile, as a mask.
+	 * @throws IllegalArgumentException If the line isn't a tile, or names an arm twice.
+	 */
+	public static int parse(String line){
+		int mask = 0x00, i = 0x00, len = line.length();
+		boolean hex = false, arms = false;
+		while(i < len){
+			char c = line.charAt(i);
+			if(c == ',' || Character.isWhitespace(c)){
+				i++;
+				continue;
+			}
+			if(c == '0' && i + 0x01 < len && (line.charAt(i + 0x01) | 0x20) == 'x'){
+				if(hex || arms)
+					throw new IllegalArgumentException("a hex mask must be on a line of its own");
+				int v = 0x00, start = i += 0x02;
+				for(; i < len && Character.digit(line.charAt(i), 0x10) >= 0x00; i++){
+					v = (v << 0x04) | Character.digit(line.charAt(i), 0x10);
+					if(v > Tile.FULL)
+						throw new IllegalArgumentException("mask out of range: " + line.trim());
+				}
+				if(i == start)
+					throw new IllegalArgumentException("empty hex mask");
+				mask = v;
+				hex = true;
+				continue;
+			}
+			int arm = arm(c, (i + 0x01 < len) ? line.charAt(i + 0x01) : ' ');
+			if(arm < 0x00 || hex ||
+			   (i + 0x02 < len && line.charAt(i + 0x02) != ',' && !Character.isWhitespace(line.charAt(i + 0x02))))
+				throw new IllegalArgumentException("invalid arm near \"" + line.substring(i).trim() + "\"");
+			if((mask & (0x01 << arm)) != 0x00)
+				throw new IllegalArgumentException("repeated arm " + Tile.armName(arm));
+			mask |= 0x01 << arm;
+			arms = true;
+			i += 0x02;
+		}
+		return mask;
+	}
+
+	/* The arm named by a letter and digit, or -1 if there isn't one */
+	private static int arm(char a, char n){
+		int face;
+		switch(a | 0x20){
+			case 'a':	face = 0x00;	break;
+			case 'b':	face = 0x01;	break;
+			case 'g':	face = 0x02;	break;
+			default:	return -1;
+		}
+		if(n < '1' || n > '4') return -1;
+		return (face << 0x02) + (n - '1');
+	}
+
+	/* Arm names, separated by commas, without the trailing one */
+	static String names(int mask){
+		String s = Tile.toString(mask);
+		return s.isEmpty() ? s : s.substring(0x00, s.length() - 0x02);
+	}
+
+	/**
+	 * This is a test driver which feeds every possible tile through as both arm
+	 * names and a hex mask, along with some bad lines, and checks the results
+	 * against {@link CanonicalTable}, exiting with status 1 if any differ.
+	 * It doesn't care about args.
+	 */
+	public static void main(String args[]) throws IOException{
+		SymmetryEngine e = SymmetryEngine.DEFAULT;
+		CanonicalTable table = e.getCanonicalTable();
+		StringBuilder in = new StringBuilder("# every tile, both ways\n\n");
+		for(int mask = 0x00; mask < Tile.COUNT; mask++){
+			in.append((mask == 0x00) ? "0x0" : names(mask).toLowerCase()).append('\n');
+			in.append("0x").append(Integer.toHexString(mask)).append('\n');
+		}
+		String[] bad = { "a1 a1", "a5", "q1", "0x1000", "a1 0x3", "0x", "a12" };
+		for(String b : bad)
+			in.append(b).append('\n');
+
+		BatchCanonicalizer bc = new BatchCanonicalizer(new TileCatalog(e));
+		StringWriter out = new StringWriter();
+		bc.run(new StringReader(in.toString()), out);
+
+		String[] lines = out.toString().split("\n");
+		boolean same = lines.length == (Tile.COUNT << 0x01) + bad.length &&
+					   bc.getTiles() == (Tile.COUNT << 0x01) && bc.getErrors() == bad.length;
+		for(int mask = 0x00; same && mask < Tile.COUNT; mask++){
+			int id = table.getClassId(mask);
+			String expected = id + "\t0x" + Integer.toHexString(table.getClassRepresentative(id)) +
+							  "\t" + names(table.getClassRepresentative(id));
+			same &= lines[mask << 0x01].equals(expected) && lines[(mask << 0x01) + 0x01].equals(expected);
+		}
+		for(int i = 0x00; same && i < bad.length; i++)
+			same &= lines[(Tile.COUNT << 0x01) + i].startsWith("error\tline ");
+		for(int i = 0x00; i < bad.length; i++)
+			System.out.println(lines[(Tile.COUNT << 0x01) + i]);
+		System.out.println(bc.getTiles() + " tiles, " + bc.getErrors() + " errors\t" +
+						   (same ? "same" : "DIFFERENT"));
+		if(!same) System.exit(0x01);
+	}
+}
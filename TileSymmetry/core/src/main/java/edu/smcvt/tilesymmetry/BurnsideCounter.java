@@ -0,0 +1,294 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.util.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * A BurnsideCounter counts the n-armed tile classes for every n at once, without
+ * enumerating any tiles, using Burnside's lemma over the cycle structure of the
+ * rotations in {@link SymmetryTable}. An element whose cycles have lengths
+ * c1, c2, ... fixes exactly the tiles counted by (1 + x^c1)(1 + x^c2)...,
+ * so averaging that product over the group gives a polynomial whose
+ * coefficient of x^n is the number of n-armed classes.
+ * <p>
+ * The special case rotations aren't a group action on their own, so they are
+ * accounted for separately. They only ever merge classes of tiles lying in one
+ * of the hexagonal planes, where they extend the 6 rotations of the
+ * cuboctahedron that keep a hexagon in place to the 12 symmetries of a plain
+ * hexagon. Tiles that span a hexagon lie in only that one, so their classes can
+ * be counted once with each of those two groups and the difference applied.
+ * <p>
+ * With reflections, each rotation is also taken after the central inversion,
+ * giving the full symmetry group of the cuboctahedron, twice the size.
+ * @see CanonicalTable
+ */
+public final class BurnsideCounter{
+
+	private final boolean useExtra;
+	private final boolean useReflections;
+	private final int groupOrder;
+	private final long[] counts;
+
+	/**
+	 * Computes the class counts.
+	 * @param extra Whether or not the special case rotations should be considered.
+	 * @see SymmetryEngine
+	 */
+	public BurnsideCounter(boolean extra){	this(extra, false);	}
+
+	/**
+	 * Computes the class counts.
+	 * @param extra Whether or not the special case rotations should be considered.
+	 * @param reflect Whether or not mirror images should be counted as the same tile.
+	 */
+	public BurnsideCounter(boolean extra, boolean reflect){
+		SymmetryTable table = SymmetryTable.CUBOCTAHEDRON;
+		useExtra = extra;
+		useReflections = reflect;
+
+		/* The plain elements of the table are the rotation group itself. */
+		Map<Long, int[]> group = new LinkedHashMap<Long, int[]>();
+		for(int id = 0x00; id < table.size(); id++){
+			if(table.isSpecialCase(id)) continue;
+			int[] perm = table.getPermutation(id);
+			add(group, perm);
+			if(reflect){
+				int[] improper = new int[Tile.LENGTH];
+				for(int arm = 0x00; arm < Tile.LENGTH; arm++)
+					improper[arm] = perm[Integer.numberOfTrailingZeros(table.invert(0x01 << arm))];
+				add(group, improper);
+			}
+		}
+		groupOrder = group.size();
+		counts = average(group.values(), Tile.LENGTH, null);
+
+		if(useExtra){
+			int hexagon = CuboctahedronSymmetry.TETRADIHEDRAL1_DOMAIN;
+			int[] opposite = opposites(hexagon);
+			Map<Long, int[]> turns = hexagonGroup(table, hexagon, false, reflect);
+			Map<Long, int[]> flips = hexagonGroup(table, hexagon, true, reflect);
+			long[] before = average(turns.values(), opposite.length, opposite);
+			long[] after = average(flips.values(), opposite.length, opposite);
+			for(int n = 0x00; n < before.length; n++)
+				counts[n] += after[n] - before[n];
+		}
+	}
+
+	/**
+	 * Restricts the elements which keep a hexagonal plane in place to that plane.
+	 * @param table The table of elements.
+	 * @param hexagon The arms in the plane, as a mask.
+	 * @param extra Whether to include elements reached through the special case rotations.
+	 * @param reflect Whether to include elements applied after the central inversion.
+	 * @return The permutations of the plane's arms (numbered 0 to 5, in arm order), closed
+	 * under composition, by {@link #key}.
+	 */
+	private static Map<Long, int[]> hexagonGroup(SymmetryTable table,
+												 int hexagon,
+												 boolean extra,
+												 boolean reflect){
+		int[] arms = new int[Integer.bitCount(hexagon)];
+		int[] local = new int[Tile.LENGTH];
+		for(int arm = 0x00, i = 0x00; arm < Tile.LENGTH; arm++)
+			if((hexagon & (0x01 << arm)) != 0x00){
+				local[arm] = i;
+				arms[i++] = arm;
+			}
+
+		/* Every element that moves the hexagon somewhere, followed by
+		 * a plain rotation that brings it back. */
+		Map<Long, int[]> group = new LinkedHashMap<Long, int[]>();
+		for(int pass = 0x00; pass < (reflect ? 0x02 : 0x01); pass++){
+			for(int t = 0x00; t < table.size(); t++){
+				int start = (pass == 0x00) ? hexagon : table.invert(hexagon);
+				if(!table.appliesTo(t, start) || (!extra && table.isSpecialCase(t)))
+					continue;
+				int moved = table.apply(t, start);
+				for(int r = 0x00; r < table.size(); r++){
+					if(table.isSpecialCase(r) || table.apply(r, moved) != hexagon)
+						continue;
+					int[] perm = new int[arms.length];
+					for(int i = 0x00; i < arms.length; i++){
+						int arm = 0x01 << arms[i];
+						if(pass != 0x00) arm = table.invert(arm);
+						perm[i] = local[Integer.numberOfTrailingZeros(table.apply(r, table.apply(t, arm)))];
+					}
+					add(group, perm);
+				}
+			}
+		}
+
+		/* Close it up, in case the products above don't already form a group. */
+		boolean grew = true;
+		while(grew){
+			grew = false;
+			for(int[] g : new ArrayList<int[]>(group.values()))
+				for(int[] h : new ArrayList<int[]>(group.values())){
+					int[] gh = new int[arms.length];
+					for(int i = 0x00; i < arms.length; i++)
+						gh[i] = g[h[i]];
+					grew |= add(group, gh);
+				}
+		}
+		return group;
+	}
+
+	/**
+	 * Numbers the arms of a hexagonal plane from 0 to 5, in arm order,
+	 * and pairs each with the arm opposite it.
+	 * @param hexagon The arms in the plane, as a mask.
+	 * @return Entry i is the local number of the arm opposite local arm i.
+	 */
+	private static int[] opposites(int hexagon){
+		int[] arms = new int[Integer.bitCount(hexagon)];
+		for(int arm = 0x00, i = 0x00; arm < Tile.LENGTH; arm++)
+			if((hexagon & (0x01 << arm)) != 0x00) arms[i++] = arm;
+		int[] opposite = new int[arms.length];
+		for(int i = 0x00; i < arms.length; i++)
+			for(int j = 0x00; j < arms.length; j++)
+				if(CuboctahedronLUT.getAngle(arms[i], arms[j]) == 180)
+					opposite[i] = j;
+		return opposite;
+	}
+
+	/**
+	 * Averages the subset-counting polynomial of each permutation over a group.
+	 * @param group The permutations.
+	 * @param points The number of points permuted.
+	 * @param opposite If not null, only count subsets that don't lie on a single
+	 * line through the center, i.e. aren't empty, a single arm, or an opposite
+	 * pair; entry i is the point opposite point i.
+	 * @return The number of orbits of n-subsets, indexed by n from 0 to 12.
+	 */
+	private static long[] average(Collection<int[]> group, int points, int[] opposite){
+		long[] total = new long[Tile.LENGTH + 0x01];
+		for(int[] perm : group){
+			/* Multiply out (1 + x^c) over the cycles of perm */
+			long[] poly = new long[points + 0x01];
+			poly[0] = 0x01;
+			boolean[] done = new boolean[points];
+			int fixed = 0x00;
+			for(int start = 0x00; start < points; start++){
+				if(done[start]) continue;
+				int length = 0x00;
+				for(int i = start; !done[i]; i = perm[i]){
+					done[i] = true;
+					length++;
+				}
+				if(length == 0x01) fixed++;
+				for(int n = points; n >= length; n--)
+					poly[n] += poly[n - length];
+			}
+			if(opposite != null){
+				/* Take back the fixed subsets lying on a line: the empty tile,
+				 * the fixed arms, and the opposite pairs perm keeps together. */
+				poly[0] -= 0x01;
+				poly[1] -= fixed;
+				for(int i = 0x00; i < points; i++){
+					int j = opposite[i];
+					if(i < j && (perm[i] == i || perm[i] == j) &&
+								(perm[j] == j || perm[j] == i))
+						poly[2] -= 0x01;
+				}
+			}
+			for(int n = 0x00; n <= points; n++)
+				total[n] += poly[n];
+		}
+		for(int n = 0x00; n <= Tile.LENGTH; n++)
+			total[n] /= group.size();
+		return total;
+	}
+
+	/**
+	 * Adds a permutation to a group, unless it is already there.
+	 * @param group The permutations, by {@link #key}.
+	 * @param perm The permutation to add.
+	 * @return Whether or not it was new.
+	 */
+	private static boolean add(Map<Long, int[]> group, int[] perm){
+		return group.putIfAbsent(key(perm), perm) == null;
+	}
+
+	/* A permutation of up to 16 points packed 4 bits to a point, as GroupClosure packs them */
+	private static long key(int[] perm){
+		long key = 0x00;
+		for(int i = 0x00; i < perm.length; i++)
+			key |= ((long)perm[i]) << (i << 0x02);
+		return key;
+	}
+
+	/**
+	 * @return Whether or not the special case rotations were considered.
+	 */
+	public boolean getUseExtra(){	return useExtra;	}
+
+	/**
+	 * @return Whether or not mirror images were counted as the same tile.
+	 */
+	public boolean getUseReflections(){	return useReflections;	}
+
+	/**
+	 * @return The number of distinct rotations (proper and, with reflections,
+	 * improper) the counts were averaged over.
+	 */
+	public int getGroupOrder(){	return groupOrder;	}
+
+	/**
+	 * @param n The number of arms per tile, from 0 to 12.
+	 * @return The number of unique n-armed tile types.
+	 */
+	public long getCount(int n){	return counts[n];	}
+
+	/**
+	 * @return The number of unique tile types, indexed by number of arms.
+	 */
+	public long[] getCounts(){	return counts.clone();	}
+
+	/**
+	 * @return The generating polynomial, whose coefficient of x^n is the
+	 * number of unique n-armed tile types, e.g. "1 + x + 4x^2 + ...".
+	 */
+	public String getPolynomial(){
+		StringBuilder sb = new StringBuilder();
+		for(int n = 0x00; n <= Tile.LENGTH; n++){
+			if(counts[n] == 0x00) continue;
+			if(sb.length() != 0x00) sb.append(" + ");
+			if(counts[n] != 0x01 || n == 0x00) sb.append(counts[n]);
+			if(n > 0x00) sb.append("x");
+			if(n > 0x01) sb.append("^").append(n);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * This is a test driver which checks the counts against {@link Combo},
+	 * with and without the special case rotations and reflections, and exits
+	 * with status 1 if any of them don't match. With reflections, Combo reduces
+	 * each list both by orbit and (when there are arms) by pairwise symmetry tests.
+	 * It doesn't care about args.
+	 */
+	public static void main(String args[]){
+		boolean same = true;
+		for(int pass = 0x00; pass < 0x04; pass++){
+			boolean b = ((pass & 0x01) == 0x00);
+			boolean reflect = (pass >= 0x02);
+			BurnsideCounter counter = new BurnsideCounter(b, reflect);
+			SymmetryEngine engine = new SymmetryEngine(b, reflect, null);
+			System.out.println("Special cases " + (b ? "on" : "off") +
+							   (reflect ? ", reflections on" : "") + ": " +
+							   counter.getPolynomial());
+			for(int n = 0x00; n <= Tile.LENGTH; n++){
+				int listed = new Combo(n, true, engine).getTiles().size();
+				boolean match = (listed == counter.getCount(n)) && (!reflect || n == 0x00 ||
+								new Combo(n, false, engine).getTiles().size() == listed);
+				same &= match;
+				System.out.println(n + " arms:\t" + counter.getCount(n) + "\t" + listed +
+								   (match ? "" : "\tMISMATCH"));
+			}
+		}
+		if(!same) System.exit(0x01);
+	}
+}
@@ -0,0 +1,271 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.util.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * A CanonicalTable maps every one of the 4096 possible tiles, of any number of
+ * arms, to its lex-minimal representative and to the id of its tile class.
+ * It is built once by walking each tile's orbit under {@link SymmetryTable},
+ * after which a query is a single array read.
+ * <p>
+ * Class ids are dense and ordered by arm count, and then lexicographically by
+ * representative, so the classes with n arms are the ids from
+ * {@link #getFirstClass getFirstClass(n)} up to (but not including)
+ * {@link #getFirstClass getFirstClass(n + 1)}.
+ * <p>
+ * With reflections, a tile and its mirror image are counted as the same, so
+ * every class is closed under the improper rotations as well.
+ * <p>
+ * Alongside each representative, the table keeps the element of
+ * {@link SymmetryTable} that takes the tile there, so the orientation a tile
+ * has to be turned to, to match its tile type, is another array read.
+ * @see Combo
+ */
+public final class CanonicalTable{
+
+	/* Each shared table is built the first time its holder class is touched,
+	 * which the JVM guarantees happens exactly once, without us locking. */
+	private static final class WithExtra{
+		static final CanonicalTable TABLE = new CanonicalTable(true);
+	}
+
+	private static final class WithoutExtra{
+		static final CanonicalTable TABLE = new CanonicalTable(false);
+	}
+
+	private static final class WithExtraReflected{
+		static final CanonicalTable TABLE = new CanonicalTable(true, true);
+	}
+
+	private static final class WithoutExtraReflected{
+		static final CanonicalTable TABLE = new CanonicalTable(false, true);
+	}
+
+	private final boolean useExtra;
+	private final boolean useReflections;
+	private final short[] representatives;	// Indexed by mask
+	private final short[] classIds;			// Indexed by mask
+	private final short[] classReps;		// Indexed by class id
+	private final int[] firstClass;			// Indexed by arm count, 0 to 13
+	private final short[] elements;			// Indexed by mask
+
+	/**
+	 * Builds a new table.
+	 * @param extra Whether or not the special case rotations should be considered.
+	 * @see SymmetryEngine#getCanonicalTable
+	 */
+	public CanonicalTable(boolean extra){	this(extra, false);	}
+
+	/**
+	 * Builds a new table.
+	 * @param extra Whether or not the special case rotations should be considered.
+	 * @param reflect Whether or not mirror images should be counted as the same tile.
+	 * @see SymmetryTable#invert
+	 */
+	public CanonicalTable(boolean extra, boolean reflect){
+		SymmetryTable table = SymmetryTable.CUBOCTAHEDRON;
+		useExtra = extra;
+		useReflections = reflect;
+		representatives = new short[Tile.COUNT];
+		classIds = new short[Tile.COUNT];
+		firstClass = new int[Tile.LENGTH + 0x02];
+
+		/* Walk the orbit of every tile we haven't seen yet, and remember
+		 * the lex-minimal tile in it as the representative of the lot.
+		 */
+		boolean[] seen = new boolean[Tile.COUNT];
+		int[] orbit = new int[Tile.COUNT];
+		int[] counts = new int[Tile.LENGTH + 0x01];
+		for(int mask = 0x00; mask < Tile.COUNT; mask++){
+			if(seen[mask]) continue;
+			int size = table.walkOrbit(mask, useExtra, useReflections, seen, orbit);
+			int min = mask;
+			for(int i = 0x01; i < size; i++)
+				if(Tile.lexKey(orbit[i]) < Tile.lexKey(min)) min = orbit[i];
+			for(int i = 0x00; i < size; i++)
+				representatives[orbit[i]] = (short)min;
+			counts[Integer.bitCount(mask)]++;
+		}
+
+		/* Number the classes by arm count, then by representative. */
+		for(int n = 0x00; n <= Tile.LENGTH; n++)
+			firstClass[n + 0x01] = firstClass[n] + counts[n];
+		classReps = new short[firstClass[Tile.LENGTH + 0x01]];
+		int[] next = firstClass.clone();
+		for(int key = 0x00; key < Tile.COUNT; key++){
+			int mask = Tile.lexKey(key);	// lexKey is its own inverse, so this visits in lex order
+			if(representatives[mask] == mask)
+				classReps[next[Integer.bitCount(mask)]++] = (short)mask;
+		}
+		for(int id = 0x00; id < classReps.length; id++)
+			classIds[classReps[id]] = (short)id;
+		for(int mask = 0x00; mask < Tile.COUNT; mask++)
+			classIds[mask] = classIds[representatives[mask]];
+
+		/* One element always reaches the representative straight from the tile,
+		 * even with the special cases, so find the first: preferring a plain
+		 * rotation, then a special case, and reflecting only when we must. */
+		elements = new short[Tile.COUNT];
+		for(int mask = 0x00; mask < Tile.COUNT; mask++){
+			int id = findElement(table, mask, representatives[mask]);
+			if(id < 0x00)
+				throw new IllegalStateException("no element takes " + Tile.toString(mask) + "to its representative");
+			elements[mask] = (short)id;
+		}
+	}
+
+	private int findElement(SymmetryTable table, int mask, int rep){
+		for(int pass = 0x00; pass < (useReflections ? 0x04 : 0x02); pass++){
+			int b = (pass < 0x02) ? mask : table.invert(mask);
+			boolean special = (pass & 0x01) != 0x00;
+			if(special && !useExtra) continue;
+			for(int id = 0x00; id < table.size(); id++)
+				if(table.isSpecialCase(id) == special && table.appliesTo(id, b) && table.apply(id, b) == rep)
+					return id + ((pass < 0x02) ? 0x00 : table.size());
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns a shared table, building it the first time it is asked for.
+	 * @param extra Whether or not the special case rotations should be considered.
+	 * @return The shared table for that setting.
+	 */
+	public static CanonicalTable getTable(boolean extra){	return getTable(extra, false);	}
+
+	/**
+	 * Returns a shared table, building it the first time it is asked for.
+	 * @param extra Whether or not the special case rotations should be considered.
+	 * @param reflect Whether or not mirror images should be counted as the same tile.
+	 * @return The shared table for those settings.
+	 */
+	public static CanonicalTable getTable(boolean extra, boolean reflect){
+		if(reflect) return extra ? WithExtraReflected.TABLE : WithoutExtraReflected.TABLE;
+		return extra ? WithExtra.TABLE : WithoutExtra.TABLE;
+	}
+
+	/**
+	 * @return Whether or not the special case rotations were considered.
+	 */
+	public boolean getUseExtra(){	return useExtra;	}
+
+	/**
+	 * @return Whether or not mirror images were counted as the same tile.
+	 */
+	public boolean getUseReflections(){	return useReflections;	}
+
+	/**
+	 * @param mask Any tile, as a mask.
+	 * @return The lex-minimal tile it is rotationally symmetric to, as a mask.
+	 */
+	public int getRepresentative(int mask){	return representatives[mask];	}
+
+	/**
+	 * @param mask Any tile, as a mask.
+	 * @return The id of its tile class.
+	 */
+	public int getClassId(int mask){	return classIds[mask];	}
+
+	/**
+	 * Finds the element which turns a tile into its representative. A plain
+	 * rotation is given whenever one will do, and a reflection only when nothing
+	 * else will.
+	 * @param mask Any tile, as a mask.
+	 * @return The element's id in {@link SymmetryTable}, or, if the tile has to be
+	 * inverted first, the id plus {@link SymmetryTable#size}, as in {@link OrbitStabilizer}.
+	 * @see #orient
+	 */
+	public int getElementId(int mask){	return elements[mask];	}
+
+	/**
+	 * @param mask Any tile, as a mask.
+	 * @return The rotations making up the element which turns the tile into its
+	 * representative, as rotation flags, with {@link CuboctahedronSymmetry#INVERSION}
+	 * set if it is inverted first.
+	 * @see CuboctahedronSymmetry#rotString
+	 */
+	public int getRotTrack(int mask){	return rotTrack(elements[mask]);	}
+
+	/**
+	 * @param elementId An element, as numbered by {@link #getElementId}.
+	 * @return The rotations making up the element, as rotation flags, with
+	 * {@link CuboctahedronSymmetry#INVERSION} set if it is inverted first.
+	 */
+	public static int rotTrack(int elementId){
+		SymmetryTable table = SymmetryTable.CUBOCTAHEDRON;
+		return (elementId < table.size()) ? table.getRotTrack(elementId)
+										  : table.getRotTrack(elementId - table.size()) | CuboctahedronSymmetry.INVERSION;
+	}
+
+	/**
+	 * Applies an element, as numbered by {@link #getElementId}, to a tile.
+	 * @param elementId The element, inverted first if it is {@link SymmetryTable#size} or more.
+	 * @param mask Any tile in the element's domain, as a mask.
+	 * @return The turned tile, as a mask.
+	 */
+	public static int orient(int elementId, int mask){
+		SymmetryTable table = SymmetryTable.CUBOCTAHEDRON;
+		return (elementId < table.size()) ? table.apply(elementId, mask)
+										  : table.apply(elementId - table.size(), table.invert(mask));
+	}
+
+	/**
+	 * @param classId A class id.
+	 * @return The lex-minimal tile of that class, as a mask.
+	 */
+	public int getClassRepresentative(int classId){	return classReps[classId];	}
+
+	/**
+	 * @return The number of tile classes, over all arm counts.
+	 */
+	public int getClassCount(){	return classReps.length;	}
+
+	/**
+	 * @param n The number of arms per tile, from 0 to 12.
+	 * @return The number of tile classes with n arms.
+	 */
+	public int getClassCount(int n){	return firstClass[n + 0x01] - firstClass[n];	}
+
+	/**
+	 * @param n The number of arms per tile, from 0 to 13.
+	 * @return The id of the first tile class with n arms.
+	 */
+	public int getFirstClass(int n){	return firstClass[n];	}
+
+	/**
+	 * This is a test driver which checks, for each setting, that the element
+	 * recorded for every tile turns it into its representative, and how many
+	 * tiles need a special case or a reflection to get there. It exits with
+	 * status 1 if any element doesn't.
+	 * It doesn't care about args.
+	 */
+	public static void main(String args[]){
+		SymmetryTable table = SymmetryTable.CUBOCTAHEDRON;
+		boolean same = true;
+		for(int pass = 0x00; pass < 0x04; pass++){
+			CanonicalTable ct = getTable((pass & 0x01) == 0x00, (pass & 0x02) != 0x00);
+			int special = 0x00, inverted = 0x00, wrong = 0x00;
+			for(int mask = 0x00; mask < Tile.COUNT; mask++){
+				int id = ct.getElementId(mask);
+				if(orient(id, mask) != ct.getRepresentative(mask)) wrong++;
+				if(id >= table.size()) inverted++;
+				else if(table.isSpecialCase(id)) special++;
+			}
+			System.out.println("Extra: " + ct.getUseExtra() + "\tReflections: " + ct.getUseReflections() +
+							   "\tSpecial cases: " + special + "\tInverted: " + inverted + "\tWrong: " + wrong);
+			same &= wrong == 0x00 && (ct.getUseExtra() || special == 0x00) &&
+					(ct.getUseReflections() || inverted == 0x00);
+		}
+		CanonicalTable ct = getTable(true, true);
+		int mask = (0x01 << CuboctahedronSymmetry.A2) | (0x01 << CuboctahedronSymmetry.B3) |
+				   (0x01 << CuboctahedronSymmetry.G4);
+		System.out.println(Tile.toString(mask) + "-> " + Tile.toString(ct.getRepresentative(mask)) + "by\t" +
+						   CuboctahedronSymmetry.rotString(ct.getRotTrack(mask)));
+		System.out.println("Orientations\t" + (same ? "same" : "DIFFERENT"));
+		if(!same) System.exit(0x01);
+	}
+}
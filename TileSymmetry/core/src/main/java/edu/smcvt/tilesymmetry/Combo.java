@@ -0,0 +1,302 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.util.*;
+import java.util.stream.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * A Combo object calculates a comprehensive list of n-armed tiles by calculating the
+ * set of bit strings of length 12 with a Hamming distance of n from the length 12
+ * bit string of all zeroes. It then reduces them to the set of lex-minimal
+ * n-armed tiles, either by walking the orbit of each tile not yet accounted for
+ * ({@link #removeCopiesByOrbit}), or by grouping on arm-pair angles and
+ * comparing within each group ({@link #removeCopies}).
+ * @author Andrew Parent
+ * @author Thomas Dickerson
+ */
+public class Combo{
+	private static final int LENGTH = Tile.LENGTH; // The number of arms in a tile.
+
+	private int k;
+	private LinkedList<Tile> combos;
+	private CuboctahedronLUT groupF;
+	private SymmetryEngine engine;
+
+
+	/**
+	 * The default constructor, instantiates a Combo object with n = 1
+	 */
+	public Combo (){	this(1);	}
+
+	/**
+	 * Instantiates a new Combo object, which will immediately contain
+	 * the set of lex-minimal n-armed tiles, reduced with {@link #removeCopies}.
+	 * Use {@link #Combo(int, boolean)} to walk orbits instead.
+	 * @param n The number of arms per tile.
+	 */
+	public Combo (int n){	this(n, false);	}
+
+	/**
+	 * Instantiates a new Combo object, which will immediately contain
+	 * the set of lex-minimal n-armed tiles, using the engine
+	 * {@link CuboctahedronSymmetry#getEngine} gives for the current settings.
+	 * @param n The number of arms per tile.
+	 * @param byOrbit Whether to reduce the tiles with {@link #removeCopiesByOrbit}
+	 * rather than {@link #removeCopies}.
+	 */
+	public Combo (int n, boolean byOrbit){
+		this(n, byOrbit, CuboctahedronSymmetry.getEngine());
+	}
+
+	/**
+	 * Instantiates a new Combo object, which will immediately contain
+	 * the set of lex-minimal n-armed tiles. Nothing outside the given engine
+	 * is consulted, so Combo objects with their own engines can be built on
+	 * several threads at once.
+	 * @param n The number of arms per tile.
+	 * @param byOrbit Whether to reduce the tiles with {@link #removeCopiesByOrbit}
+	 * rather than {@link #removeCopies}.
+	 * @param e The engine used to test tiles for symmetry.
+	 */
+	public Combo (int n, boolean byOrbit, SymmetryEngine e){
+		this(n, e);
+		if(byOrbit)	removeCopiesByOrbit();
+		else		removeCopies();
+	}
+
+	/**
+	 * Instantiates a new Combo object, which will immediately contain every
+	 * n-armed tile, in the order {@link #list} produces them, with nothing removed.
+	 * @param n The number of arms per tile.
+	 * @param e The engine used to test tiles for symmetry.
+	 */
+	Combo (int n, SymmetryEngine e){
+		k = n;
+		engine = e;
+		clearCombos();
+		list(0, k, 0x00);
+	}
+
+	/**
+	 * Recursively produces and saves the n-armed tiles.
+	 * @param start Starting position in the bitString.
+	 * @param n The number of arms which must be set.
+	 * @param bitString The initial bit string representing a tile. 
+	 */	
+	public void list(int start, int n, boolean bitString[]){
+		list(start, n, Tile.pack(bitString));
+	}
+
+	/**
+	 * Recursively produces and saves the n-armed tiles.
+	 * @param start Starting position in the mask.
+	 * @param n The number of arms which must be set.
+	 * @param mask The initial mask representing a tile. 
+	 */	
+	public void list(int start, int n, int mask){
+		if(n == 0) combos.addLast(new Tile(mask));
+		else if(start != LENGTH){
+			list(start+1, n, mask);
+			list(start + 1, n - 1, mask ^ (0x01 << start));	
+		}		
+	}
+	
+	/**
+	 * Groups the tiles based on the angles between pairs of arms.
+	 */
+	public void calcGroupings(){
+		CuboctahedronLUT grouper = new CuboctahedronLUT();
+		for(Tile tile : combos){
+			grouper.computeAngles(tile);	
+		}
+		groupF = grouper;
+	}
+	
+	/**
+	 * Reduces the set of saved tiles to contain only the lex-minimal n-armed tiles.
+	 */
+	public void removeCopies(){
+		calcGroupings();
+		Map<Long, LinkedHashSet<Tile>> groupings =
+													groupF.getResultantGroupings();
+
+		LinkedList<Tile> shrunk = new LinkedList<Tile>();
+		
+		for(LinkedHashSet<Tile> g : groupings.values()){
+			shrunk.addAll(removeCopies(g, engine));
+		}	
+		combos = shrunk;
+	}
+
+	/**
+	 * Reduces a single angle grouping to its lex-minimal tiles. Rotations never
+	 * change the angles between arms, so tiles in different groupings can't be
+	 * symmetric, and each grouping can be reduced on its own.
+	 * @param g The tiles of one grouping, in the order {@link #list} produced them.
+	 * @param e The engine used to test tiles for symmetry.
+	 * @return The lex-minimal tiles of the grouping.
+	 */
+	static LinkedList<Tile> removeCopies(LinkedHashSet<Tile> g, SymmetryEngine e){
+		LinkedList<Tile> shrunk = new LinkedList<Tile>();
+
+		/* Hack to prevent typecasting,
+		 * because typecasting is sloppy */
+		Tile[] grouping = g.toArray(new Tile[0]);
+		int gMax = grouping.length - 1;
+		if(SymmetryMetrics.ENABLED) SymmetryMetrics.groupingReduced(grouping.length);
+		for(int i = gMax; i >= 0 && grouping[i].hasArm(0); i-- ){
+			if(i == gMax)	shrunk.addLast(grouping[i]);
+			else{
+				boolean gotit = false;
+				int mask = grouping[i].getMask();
+				for(Tile tile : shrunk){
+					if(e.isEquivalent(tile.getMask(), mask)){
+						gotit = true;
+						break;
+					}
+				}
+				if(!gotit)	shrunk.addLast(grouping[i]);
+			}
+			
+		}
+		return shrunk;
+	}
+
+	/**
+	 * Reduces the set of saved tiles to contain only the lex-minimal n-armed tiles,
+	 * by walking the saved tiles in lexicographic order and generating the whole
+	 * orbit of each one that hasn't turned up in an earlier orbit. Every tile is
+	 * visited once, so there are no pairwise symmetry checks at all. The saved
+	 * tiles are expected to be in the order {@link #list} produces them.
+	 */
+	public void removeCopiesByOrbit(){
+		SymmetryTable table = SymmetryTable.CUBOCTAHEDRON;
+		boolean extra = engine.getUseExtra();
+		boolean reflect = engine.getUseReflections();
+		boolean[] seen = new boolean[Tile.COUNT];
+		int[] orbit = new int[Tile.COUNT];
+
+		LinkedList<Tile> shrunk = new LinkedList<Tile>();
+
+		/* list() works from A1 up, leaving each arm off before putting it on,
+		 * so walking backwards visits tiles in lexicographic order, and the
+		 * first tile of each orbit we come across is its lex-minimal one. */
+		Iterator<Tile> it = combos.descendingIterator();
+		while(it.hasNext()){
+			Tile tile = it.next();
+			if(seen[tile.getMask()]) continue;
+			table.walkOrbit(tile.getMask(), extra, reflect, seen, orbit);
+			shrunk.addLast(tile);
+		}
+		combos = shrunk;
+	}
+
+	/**
+	 * Convenience function which prints a tile, represented by bitString,
+	 * to std out, followed by a new line.
+	 * @param bitString The bit string representing the tile to be printed.
+	 */
+	public static void printBitString(boolean[] bitString){
+		printBitString(bitString, System.out, true);
+	}
+
+	/**
+	 * Convenience function which prints a tile, represented by bitString,
+	 * to the specified {@link java.io.PrintStream}, optionally followed by a new line.
+	 * @param bitString The bit string representing the tile to be printed.
+	 * @param stream The PrintStream for the tile to be printed to.
+	 * @param endLine Specifies whether the tile should be followed by a new line.
+	 */
+	public static void printBitString(boolean[] bitString,
+									  java.io.PrintStream stream,
+									  boolean endLine) {
+		printBitString(Tile.pack(bitString), stream, endLine);
+	}
+
+	/**
+	 * Convenience function which prints a tile, represented by a mask,
+	 * to std out, followed by a new line.
+	 * @param mask The mask representing the tile to be printed.
+	 */
+	public static void printBitString(int mask){
+		printBitString(mask, System.out, true);
+	}
+
+	/**
+	 * Convenience function which prints a tile, represented by a mask,
+	 * to the specified {@link java.io.PrintStream}, optionally followed by a new line.
+	 * @param mask The mask representing the tile to be printed.
+	 * @param stream The PrintStream for the tile to be printed to.
+	 * @param endLine Specifies whether the tile should be followed by a new line.
+	 */
+	public static void printBitString(int mask,
+									  java.io.PrintStream stream,
+									  boolean endLine) {
+		stream.print(Tile.toString(mask));
+		if(endLine){
+			stream.println("");
+		}
+	}
+
+	/**
+	 * Returns the set of tiles saved by this Combo object, unpacked into bit strings.
+	 * The tiles are saved as {@link Tile} objects, so this builds a new list on
+	 * every call, and changes made to it don't reach the saved tiles; use
+	 * {@link #getTiles} for the saved list itself.
+	 * @see #getTiles
+	 * @return A new list of the tiles saved by this Combo object.
+	 */
+	public LinkedList<boolean[]> getCombos(){
+		LinkedList<boolean[]> bitStrings = new LinkedList<boolean[]>();
+		for(Tile tile : combos){
+			bitStrings.addLast(tile.toBitString());
+		}
+		return bitStrings;
+	}
+
+	/**
+	 * Returns the set of tiles saved by this Combo object.
+	 * @return The set of tiles saved by this Combo object.
+	 */
+	public LinkedList<Tile> getTiles(){ return combos;	}
+
+	/**
+	 * Clears the set of tiles saved by this Combo object.
+	 */
+	public void clearCombos(){ combos = new LinkedList<Tile>(); }
+
+	/**
+	 * Streams the n-armed tiles as masks, one at a time, without ever holding
+	 * them all in memory.
+	 * @param n The number of arms per tile.
+	 * @param lexOrder Whether to produce the tiles in lexicographic order,
+	 * rather than in increasing order of mask.
+	 * @param parallel Whether the stream should be parallel.
+	 * @return A stream of every n-armed tile, as masks.
+	 * @see SubsetSpliterator
+	 */
+	public static IntStream masks(int n, boolean lexOrder, boolean parallel){
+		return StreamSupport.intStream(new SubsetSpliterator(n, lexOrder), parallel);
+	}
+
+	/**
+	 * Streams the lex-minimal n-armed tiles, in lexicographic order, as they are
+	 * found. Each tile is checked against the shared {@link CanonicalTable} for
+	 * the engine's settings, so memory use doesn't grow with the number of tiles.
+	 * @param n The number of arms per tile.
+	 * @param e The engine whose settings decide which tiles are symmetric.
+	 * @param parallel Whether the stream should be parallel.
+	 * @return A stream of the same tiles, in the same order, as new Combo(n, true, e) holds.
+	 */
+	public static Stream<Tile> classes(int n, SymmetryEngine e, boolean parallel){
+		CanonicalTable table = e.getCanonicalTable();
+		return masks(n, true, parallel).filter(mask -> table.getRepresentative(mask) == mask)
+									   .mapToObj(Tile::new);
+	}
+}
+
+
+
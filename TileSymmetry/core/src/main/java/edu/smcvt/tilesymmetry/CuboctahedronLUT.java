@@ -0,0 +1,189 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.util.*;
+import edu.smcvt.tilesymmetry.*;
+
+
+/**
+ * A CuboctahedronLUT object calculates the angles between arm pairs in a tile,
+ * based on a precalculated lookup table. 
+ * @author Thomas Dickerson
+ */
+public class CuboctahedronLUT{
+	
+	// This is our LUT. Not much more to it than that.
+	private static final int[][] AngleLUT = {{ 0,90,180,90,60,60,120,120,60,60,120,120 },
+											 { 90,0,90,180,120,120,60,60,60,60,120,120 },
+											 { 180,90,0,90,120,120,60,60,120,120,60,60 },
+											 { 90,180,90,0,60,60,120,120,120,120,60,60 },
+											 { 60,120,120,60,0,90,180,90,60,120,120,60 },
+											 { 60,120,120,60,90,0,90,180,120,60,60,120 },
+											 { 120,60,60,120,180,90,0,90,120,60,60,120 },
+											 { 120,60,60,120,90,180,90,0,60,120,120,60 },
+											 { 60,60,120,120,60,120,120,60,0,90,180,90 },
+											 { 60,60,120,120,120,60,60,120,90,0,90,180 },
+											 { 120,120,60,60,120,60,60,120,180,90,0,90 },
+											 { 120,120,60,60,60,120,120,60,90,180,90,0 }};
+	
+	/* Each fingerprint packs a tile's arm count above a histogram of the
+	 * angles between its arm pairs, one byte per angle. */
+	private static final int[] ANGLES = { 60, 90, 120, 180 };
+	private static final int ARMS_SHIFT = 0x20;
+	private static final long[] FINGERPRINTS = new long[Tile.COUNT];	// Indexed by mask
+
+	/* The distinct fingerprints are numbered densely, so groupings can be
+	 * kept by number rather than by boxed fingerprint. */
+	private static final short[] GROUP_IDS = new short[Tile.COUNT];		// Indexed by mask
+	private static final long[] GROUP_FINGERPRINTS;						// Indexed by group id
+
+	static{
+		long[] distinct = new long[Tile.COUNT];
+		int groups = 0x00;
+		for(int mask = 0x00; mask < Tile.COUNT; mask++){
+			long fp = ((long)Integer.bitCount(mask)) << ARMS_SHIFT;
+			for(int i = 0x00; i < Tile.LENGTH; i++)
+				for(int j = i + 0x01; j < Tile.LENGTH; j++)
+					if((mask & (0x01 << i)) != 0x00 && (mask & (0x01 << j)) != 0x00)
+						fp += 0x01L << (angleIndex(AngleLUT[i][j]) << 0x03);
+			FINGERPRINTS[mask] = fp;
+			int id = 0x00;
+			while(id < groups && distinct[id] != fp) id++;
+			if(id == groups) distinct[groups++] = fp;
+			GROUP_IDS[mask] = (short)id;
+		}
+		GROUP_FINGERPRINTS = Arrays.copyOf(distinct, groups);
+	}
+
+	// Instance variables. These store the groupings we pick up, by group id.
+	private List<LinkedHashSet<Tile>> grouping;
+	private int[] order;		// The group ids, in the order they were first seen
+	private int seen;
+
+	/**
+	 * The default constructor, it sets up everything that needs to be set up.
+	 */
+	public CuboctahedronLUT(){
+		grouping = new ArrayList<LinkedHashSet<Tile>>(Collections.nCopies(GROUP_FINGERPRINTS.length,
+																		  (LinkedHashSet<Tile>)null));
+		order = new int[GROUP_FINGERPRINTS.length];
+	}
+
+	/**
+	 * Looks up the angle between two arms.
+	 * @param a The first arm number.
+	 * @param b The second arm number.
+	 * @return The angle between them, in degrees.
+	 */
+	public static int getAngle(int a, int b){ return AngleLUT[a][b]; }
+
+	private static int angleIndex(int angle){
+		for(int i = 0x00; i < ANGLES.length; i++)
+			if(ANGLES[i] == angle) return i;
+		return -1;
+	}
+
+	/**
+	 * Looks up a tile's fingerprint: its number of arms, and how many of its
+	 * arm pairs lie at each of 60, 90, 120, and 180 degrees, packed into a long.
+	 * Rotations never change the angles between arms, so tiles with different
+	 * fingerprints can't be rotationally symmetric.
+	 * @param mask Any tile, as a mask.
+	 * @return The tile's fingerprint.
+	 */
+	public static long getFingerprint(int mask){ return FINGERPRINTS[mask]; }
+
+	/**
+	 * Unpacks a fingerprint into the angles between arm pairs it counts.
+	 * @param fingerprint A fingerprint, from {@link #getFingerprint}.
+	 * @return The angles between each pair of arms, in increasing order.
+	 */
+	public static int[] getAngles(long fingerprint){
+		int[] counts = new int[ANGLES.length];
+		int k = 0x00;
+		for(int i = 0x00; i < ANGLES.length; i++)
+			k += counts[i] = (int)((fingerprint >>> (i << 0x03)) & 0xff);
+		int[] angles = new int[k];
+		for(int i = 0x00, a = 0x00; i < ANGLES.length; i++)
+			while(counts[i]-- > 0x00) angles[a++] = ANGLES[i];
+		return angles;
+	}
+
+	/**
+	 * Returns a {@link java.util.Map} containing the sets of tiles with
+	 * different arm-pair angles. {@link #computeAngles} should have been called
+	 * a few times already so that the groupings actually contain something.
+	 * <p>
+	 * Since tiles became {@link Tile} masks, the map is keyed by fingerprint,
+	 * and holds Tiles, rather than being a Hashtable keyed by a wrapped array of
+	 * sorted angles and holding boolean[] tiles; {@link #getAngles} unpacks a
+	 * key into the angles the old key held. The map is built fresh on each
+	 * call, and iterates over the groupings in the order they were first seen,
+	 * but the sets are the ones this object keeps adding to.
+	 * @return A map indexed by fingerprints (see {@link #getFingerprint}),
+	 * and containing sets of tiles with the same angles between arm pairs.
+	 */
+	public Map<Long, LinkedHashSet<Tile>> getResultantGroupings(){
+		Map<Long, LinkedHashSet<Tile>> ret = new LinkedHashMap<Long, LinkedHashSet<Tile>>();
+		for(int i = 0x00; i < seen; i++)
+			ret.put(GROUP_FINGERPRINTS[order[i]], grouping.get(order[i]));
+		return ret;
+	}
+
+	/**
+	 * Computes and saves the angles between pairs of arms on a tile.
+	 * @param bitString A bit string of length 12 representing an n-armed tile.
+	 */
+	public void computeAngles(boolean[] bitString){
+		if(bitString.length != 0x0c){		// Sanity check.
+			System.err.println("This bitString is not length 12");
+			System.exit(0x01);
+		}
+		computeAngles(new Tile(bitString));
+	}
+
+	/**
+	 * Computes and saves the angles between pairs of arms on a tile.
+	 * The angles are looked up as the number of the tile's fingerprint, so
+	 * nothing is allocated unless this is the first tile with those angles.
+	 * @param tile An n-armed tile.
+	 */
+	public void computeAngles(Tile tile){
+		int id = GROUP_IDS[tile.getMask()];
+		if(SymmetryMetrics.ENABLED) SymmetryMetrics.tileGrouped();
+		if(grouping.get(id) == null){		// If we haven't seen these angles before...
+			grouping.set(id, new LinkedHashSet<Tile>());	// ... now we have. 
+			order[seen++] = id;
+		}
+		grouping.get(id).add(tile);	// Add the tile to that angle group.
+	}
+
+	/**
+	 * This is a test driver to make sure things work correctly.
+	 * It doesn't care about args.
+	 */
+	public static void main(String args[]){
+		Map<Long, LinkedHashSet<Tile>> ans;
+		int[] angles;
+		int i;
+		boolean[] test = {true, false, false, false, true, false,
+						  true, false, false, false, true, false};
+		boolean[] test2 = {false, false, false, true, false, true,
+						  true, false, false, false, true, false};
+		boolean[] test3 = {false, true, false, true, false, true,
+						  true, false, false, false, true, false};
+		CuboctahedronLUT chl = new CuboctahedronLUT();
+		chl.computeAngles(test);	// Round 1: Nothing special
+		chl.computeAngles(test);	// Round 2: Do we handle dupes okay?
+		chl.computeAngles(test2);	// Round 3: And now for something completely different
+		chl.computeAngles(test3);	// Round 4: ^- that again.
+		ans = chl.getResultantGroupings();	// Grab our output.
+		for(Long fp : ans.keySet()){
+			angles = getAngles(fp);		// Unpack our angles
+			for(i = 0x00; i < angles.length;) System.out.print(angles[i++] + ", ");
+			System.out.println("");
+		}
+	}
+}
\ No newline at end of file
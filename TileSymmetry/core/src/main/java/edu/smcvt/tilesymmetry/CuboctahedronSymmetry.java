@@ -0,0 +1,922 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.util.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * The CuboctahedronSymmetry class contains many static methods for determining the
+ * symmetry of two tiles, rotating a tile according to the generator rotations, and
+ * verifying results via orbits and stabilizers.
+ * @author Thomas Dickerson
+ * @author Andrew Parent
+ */
+public class CuboctahedronSymmetry{
+
+	/**
+	 * Value representing the alpha-1 arm.
+	 */
+	public static final int A1 = a2I("a1");
+
+	/**
+	 * Value representing the alpha-2 arm.
+	 */
+	public static final int A2 = a2I("a2");
+
+	/**
+	 * Value representing the alpha-3 arm.
+	 */
+	public static final int A3 = a2I("a3");
+
+	/**
+	 * Value representing the alpha-4 arm.
+	 */
+	public static final int A4 = a2I("a4");
+
+
+	/**
+	 * Value representing the beta-1 arm.
+	 */
+	public static final int B1 = a2I("b1");
+
+	/**
+	 * Value representing the beta-2 arm.
+	 */
+	public static final int B2 = a2I("b2");
+
+	/**
+	 * Value representing the beta-3 arm.
+	 */
+	public static final int B3 = a2I("b3");
+
+	/**
+	 * Value representing the beta-4 arm.
+	 */
+	public static final int B4 = a2I("b4");
+
+
+	/**
+	 * Value representing the gamma-1 arm.
+	 */
+	public static final int G1 = a2I("g1");
+
+	/**
+	 * Value representing the gamma-2 arm.
+	 */
+	public static final int G2 = a2I("g2");
+
+	/**
+	 * Value representing the gamma-3 arm.
+	 */
+	public static final int G3 = a2I("g3");
+
+	/**
+	 * Value representing the gamma-4 arm.
+	 */
+	public static final int G4 = a2I("g4");
+
+	
+	/**
+	 * Value representing no rotations.
+	 */
+	public static final int	NONE		= 0x0000;
+	
+	/**
+	 * Value representing a 120-degree generator rotation.
+	 */
+	public static final int FACE120		= 0x1000;
+	
+	/**
+	 * Value representing two 120-degree generator rotations.
+	 */
+	public static final int FACE240		= 0x2000;
+	
+	/**
+	 * Value representing a 90-degree generator rotation.
+	 */
+	public static final int PLANE90		= 0x0100;
+	
+	/**
+	 * Value representing two 90-degree generator rotations.
+	 */
+	public static final int PLANE180	= 0x0200;
+	
+	/**
+	 * Value representing three 90-degree generator rotations.
+	 */
+	public static final int PLANE270	= 0x0300;
+	
+	/**
+	 * Value representing the special case rotation by the dihedral angle of the tetrahedron around alpha-1.
+	 */
+	public static final int ALPHA_TETRADIHEDRAL		= 0x0010;
+	
+	/**
+	 * Value representing the special case rotation by the tetrahedral angle around alpha-1.
+	 */
+	public static final int ALPHA_TETRAHEDRAL	= 0x0020;
+	
+	/**
+	 * Value representing the 180-degree generator rotation.
+	 */
+	public static final int ALPHA180	= 0x0040;
+	
+	/**
+	 * Value representing the special case rotation dihedral angle of the tetrahedron around alpha-2.
+	 */
+	public static final int ALPHAT_TETRADIHEDRAL	= 0x0001;
+	
+	/**
+	 * Value representing  the special case rotation by the tetrahedral angle around alpha-2.
+	 */
+	public static final int ALPHAT_TETRAHEDRAL	= 0x0002;
+
+	/**
+	 * Value representing the central inversion, which takes each arm to the one opposite it.
+	 * It is only ever applied first, and only when reflections are being considered.
+	 * @see SymmetryEngine#getUseReflections
+	 */
+	public static final int INVERSION	= 0x0004;
+
+	/**
+	 * The arms which can be moved by {@link #symmetricPlusTetraDihedralAroundAlpha1},
+	 * i.e. the hexagonal plane containing alpha-1, beta-2, and gamma-1.
+	 */
+	public static final int TETRADIHEDRAL1_DOMAIN = bit(A1) | bit(A3) | bit(B2) | bit(B4) | bit(G1) | bit(G3);
+
+	/**
+	 * The arms which can be moved by {@link #symmetricPlusTetrahedralAroundAlpha1},
+	 * i.e. the hexagonal plane containing alpha-1, beta-1, and gamma-2.
+	 */
+	public static final int TETRAHEDRAL1_DOMAIN = bit(A1) | bit(A3) | bit(B1) | bit(B3) | bit(G2) | bit(G4);
+
+	/**
+	 * The arms which can be moved by {@link #symmetricPlusTetraDihedralAroundAlpha2},
+	 * i.e. the hexagonal plane containing alpha-2, beta-2, and gamma-2.
+	 */
+	public static final int TETRADIHEDRAL2_DOMAIN = bit(A2) | bit(A4) | bit(B2) | bit(B4) | bit(G2) | bit(G4);
+
+	/**
+	 * The arms which can be moved by {@link #symmetricPlusTetrahedralAroundAlpha2},
+	 * i.e. the hexagonal plane containing alpha-2, beta-1, and gamma-1.
+	 */
+	public static final int TETRAHEDRAL2_DOMAIN = bit(A2) | bit(A4) | bit(B1) | bit(B3) | bit(G1) | bit(G3);
+
+	/* This next chunk is related to our code for tracking the orbit
+	 * and counting the stabilizers. Heavy duty statics like this are
+	 * usually frowned on in OO languages, but it gets the job done.
+	 */
+	private static int orbcount = 0;
+	private static int stabcount = 0;
+	private static boolean osm = false;
+	private static boolean useExtra = true;
+	private static boolean disablePrint = false;
+
+	private static LinkedHashSet<Tile> orbit = null;
+
+	/* The static methods hand their work to one of these engines,
+	 * picked by the current settings. Only the tracking ones report
+	 * back, so plain symmetry tests pay nothing for the bookkeeping. */
+	private static final MatchListener TRACKER = new MatchListener(){
+		public void compared(int b1, int b2, int rotTrack, boolean matched){
+			track(b2, rotTrack, matched);
+		}
+	};
+
+	private static final SymmetryEngine[] ENGINES = {	new SymmetryEngine(false),
+														new SymmetryEngine(true),
+														new SymmetryEngine(false, TRACKER),
+														new SymmetryEngine(true, TRACKER) };
+
+	/**
+	 * Returns an engine which behaves the way the static methods of this class
+	 * currently do. Tracking and printing, if enabled, still go through the
+	 * static state here, so an engine returned while tracking is enabled is no
+	 * more thread-safe than calling {@link #areSymmetric(int, int)} directly.
+	 * @return The engine for the current settings.
+	 */
+	public static SymmetryEngine getEngine(){
+		return ENGINES[(useExtra ? 0x01 : 0x00) + (osm ? 0x02 : 0x00)];
+	}
+
+	/**
+	 * Sets whether or not the special case rotations should be considered.
+	 * @deprecated
+	 * @see #getUseExtra
+	 * @param b Whether or not the special case rotations should be considered.
+	 */
+	@Deprecated
+	public static void setUseExtra(boolean b){ useExtra = b; }
+	
+	/**
+	 * Tests whether or not the special case rotations should be considered.
+	 * @deprecated
+	 * @see #setUseExtra
+	 */
+	@Deprecated
+	public static boolean getUseExtra(){ return useExtra; }
+
+	/**
+	 * Enables tracking of the orbit and stabilizers.
+	 * Also has the same effects as {@link #resetOrbStab}.
+	 * @see #disableOrbStab
+	 * @see #resetOrbStab
+	 */
+	public static void enableOrbStab(){
+		osm = true;
+		orbcount = 0;
+		stabcount = 0;
+		orbit = new LinkedHashSet<Tile>();
+
+	}
+
+	/**
+	 * Disables tracking of the orbit and stabilizers.
+	 * Also has the same effects as {@link #resetOrbStab}.
+	 * @see #enableOrbStab
+	 * @see #resetOrbStab
+	 */
+	public static void disableOrbStab(){
+		osm = false;
+		orbcount = 0;
+		stabcount = 0;
+		orbit = null;
+	}
+
+	/**
+	 * Resets tracking of the orbit and stabilizers.
+	 * @see #enableOrbStab
+	 * @see #disableOrbStab
+	 */
+	public static void resetOrbStab(){
+		orbcount = 0;
+		stabcount = 0;
+		orbit = new LinkedHashSet<Tile>();
+	}
+
+	/**
+	 * Returns a wrapped set of all unique tiles that have been seen
+	 * since orbit/stabilizer tracking was last reset.
+	 * @see #enableOrbStab
+	 * @see #disableOrbStab
+	 * @see #resetOrbStab
+	 * @see #getOrbCount
+	 * @return A LinkedHashSet of BitStringWrappers.
+	 */
+	public static LinkedHashSet<BitStringWrapper> getOrb(){
+		if(orbit == null) return null;
+		LinkedHashSet<BitStringWrapper> wrapped = new LinkedHashSet<BitStringWrapper>();
+		for(Tile t : orbit)
+			wrapped.add(new BitStringWrapper(t.toBitString()));
+		return wrapped;
+	}
+
+	/**
+	 * Returns the set of all unique tiles that have been seen
+	 * since orbit/stabilizer tracking was last reset, without
+	 * unpacking them into bit strings.
+	 * @see #getOrb
+	 * @return A LinkedHashSet of Tiles.
+	 */
+	public static LinkedHashSet<Tile> getOrbTiles(){	return orbit;	}
+
+	/**
+	 * @see #getOrb
+	 * @see #getStabCount
+	 * @return The size of the set returned by {@link #getOrb}
+	 */
+	public static int getOrbCount(){	return orbcount;	}
+
+	/**
+	 * @see #getStabCount
+	 * @return The number of rotations seen which preserve a tile's orientation.
+	 */
+	public static int getStabCount(){	return stabcount;	}
+
+	/**
+	 * Disables the printing of rotation-tracking information to
+	 * the console on tile comparison.
+	 * @see #enablePrint
+	 */
+	public static void disablePrint(){ disablePrint = true; }
+
+	/**
+	 * Enables the printing of rotation-tracking information to
+	 * the console on tile comparison.
+	 * @see #disablePrint
+	 */
+	public static void enablePrint(){ disablePrint = false; }
+
+	/**
+	 * Prints a set of masked together rotation flags.
+	 * @param rotTrack The rotations to be printed.
+	 * @see #rotString
+	 */
+	public static void printRot(int rotTrack){	System.out.println(rotString(rotTrack));	}
+
+	/**
+	 * Spells out a set of masked together rotation flags, the same way
+	 * {@link #printRot} prints them, e.g. "Face 120,\tPlane 90,\tAlpha 180,\t".
+	 * @param rotTrack The rotations to be spelled out.
+	 * @return The rotations, each followed by a comma and a tab.
+	 */
+	public static String rotString(int rotTrack){
+		StringBuilder sb = new StringBuilder();
+		if((rotTrack & INVERSION) != 0x00)
+			sb.append("Inversion,\t");
+
+		switch(rotTrack & 0xF000){
+			case FACE240:
+				sb.append("Face 120,\t");
+			case FACE120:
+				sb.append("Face 120,\t");
+			default:
+				break;
+		}
+
+		switch(rotTrack & 0x0F00){
+			case PLANE270:
+				sb.append("Plane 90,\t");
+			case PLANE180:
+				sb.append("Plane 90,\t");
+			case PLANE90:
+				sb.append("Plane 90,\t");
+			default:
+				break;
+		}
+		
+		switch(rotTrack & 0x00F0){
+			case ALPHA_TETRADIHEDRAL:
+				sb.append("Alpha 71,\t");
+				break;
+			case ALPHA_TETRAHEDRAL:
+				sb.append("Alpha 109,\t");
+				break;
+			case ALPHA180:
+				sb.append("Alpha 180,\t");
+				break;
+			case ALPHA180 | ALPHA_TETRADIHEDRAL:
+				sb.append("Alpha 180,\t");
+				sb.append("Alpha 71,\t");
+				break;
+			case ALPHA180 | ALPHA_TETRAHEDRAL:
+				sb.append("Alpha 180,\t");
+				sb.append("Alpha 109,\t");
+			default:
+				break;
+		}
+
+		switch(rotTrack & 0x0003){
+			case ALPHAT_TETRADIHEDRAL:
+				sb.append("Alpha2 71,\t");
+				break;
+			case ALPHAT_TETRAHEDRAL:
+				sb.append("Alpha2 109,\t");
+			default:
+				break;
+		}
+
+		return sb.toString();
+	}
+
+
+	/**
+	 * Determines whether two tiles are lexicographically equal.
+	 * If enablePrint has been set, it will
+	 * print the current rotation state to the console.
+	 * @see #enablePrint
+	 * @see #disablePrint
+	 * @param b1 The first tile, as a mask.
+	 * @param b2 The second tile, as a mask.
+	 * @param rotTrack A collection of bit flags used for tracking the rotations.
+	 * @return Whether or not the two tiles are lexicographically equal.
+	 */
+	public static boolean match(int b1, int b2, int rotTrack){
+		boolean ret = (b1 == b2);
+		if(SymmetryMetrics.ENABLED) SymmetryMetrics.matchCall(ret);
+		track(b2, rotTrack, ret);
+		return ret;
+	}
+
+	/**
+	 * Does the printing and orbit/stabilizer bookkeeping for one comparison.
+	 * @param b2 The rotated tile, as a mask.
+	 * @param rotTrack A collection of bit flags used for tracking the rotations.
+	 * @param ret Whether or not the rotated tile matched.
+	 */
+	private static void track(int b2, int rotTrack, boolean ret){
+		int i = (ret ? 1 : 0) + (osm ? 2 : 0) + (!disablePrint ? 4 : 0);
+		switch(i){
+			case 7:
+				System.out.print("Match -\t");
+				printRot(rotTrack);
+			case 3:
+				stabcount += 1;
+				orbit.add(new Tile(b2));
+				orbcount = orbit.size();
+				break;
+			case 6:
+				System.out.print(Tile.toString(b2));
+				System.out.print("-\t");
+				printRot(rotTrack);
+			case 2:
+				orbit.add(new Tile(b2));
+				orbcount = orbit.size();
+			default:
+				break;
+		}
+	}
+
+	/**
+	 * Adapter for {@link #match(int, int, int)} taking bit strings.
+	 * @param b1 The first tile.
+	 * @param b2 The second tile.
+	 * @param rotTrack A collection of bit flags used for tracking the rotations.
+	 * @return Whether or not the two tiles are lexicographically equal.
+	 */
+	public static boolean match(boolean[] b1, boolean[] b2, int rotTrack){
+		return match(Tile.pack(b1), Tile.pack(b2), rotTrack);
+	}
+
+	/**
+	 * Tests if two tiles are rotationally symmetric.
+	 * Every element of {@link SymmetryTable#CUBOCTAHEDRON} is applied to b2
+	 * and compared against b1. The elements are the 3 rotations around the
+	 * center of the face formed by alpha-1, beta-1, and gamma-1, each followed
+	 * by the 8, 16, or 24 alpha plane rotations that apply to the tile (see
+	 * {@link #symmetricAroundAlphaPlane}), which account for the 24, 48, or 72
+	 * rotations. They are visited in the order the generator rotations have
+	 * always been chained in, so printing and orbit/stabilizer tracking see
+	 * the same sequence of tiles. For use from several threads, see
+	 * {@link SymmetryEngine}.
+	 * @param b1 The tile to be held static for comparison, as a mask.
+	 * @param b2 The tile to be rotated for comparison, as a mask.
+	 * @return A truth value representing whether the two tiles are rotationally symmetric.
+	 */
+	public static boolean areSymmetric(int b1, int b2){
+		return getEngine().areSymmetric(b1, b2);
+	}
+
+	/**
+	 * Tests if two tiles are rotationally symmetric, like {@link #areSymmetric(int, int)},
+	 * but stops at the first rotation which matches. Printing and orbit/stabilizer
+	 * tracking only see the rotations tried up to that point.
+	 * @param b1 The tile to be held static for comparison, as a mask.
+	 * @param b2 The tile to be rotated for comparison, as a mask.
+	 * @return A truth value representing whether the two tiles are rotationally symmetric.
+	 * @see SymmetryEngine#isEquivalent
+	 */
+	public static boolean isEquivalent(int b1, int b2){
+		return getEngine().isEquivalent(b1, b2);
+	}
+
+	/**
+	 * Adapter for {@link #areSymmetric(int, int)} taking bit strings.
+	 * @param b1 The tile to be held static for comparison.
+	 * @param b2 The tile to be rotated for comparison.
+	 * @return A truth value representing whether the two tiles are rotationally symmetric.
+	 */
+	public static boolean areSymmetric(boolean[] b1, boolean[] b2){
+		if(b1.length != 12 || b2.length != 12){
+			System.err.println("This bitString is not length 12");
+			System.exit(0x01);
+		}
+		return areSymmetric(Tile.pack(b1), Tile.pack(b2));
+	}
+
+	/**
+	 * This function checks whether two tiles are symmetric based only on rotations
+	 * that can be generated by rotations which maintain alpha arms in the alpha plane,
+	 * followed be the special case rotations. Generates either 8, 16, or 24 rotations
+	 * @param b1 The tile to be held static for comparison, as a mask.
+	 * @param b2 The tile to be rotated for comparison, as a mask.
+	 * @param rotTrack A collection of bit flags used for tracking the rotations.
+	 * @return A truth value representing whether the two tiles are rotationally symmetric.
+	 */
+	public static boolean symmetricAroundAlphaPlane(int b1, int b2, int rotTrack){
+		return symmetricAroundAlphaPlane(b1, b2, rotTrack, true);
+	}
+
+	/**
+	 * This function checks whether two tiles are symmetric based only on rotations
+	 * that can be generated by rotations which maintain alpha arms in the alpha plane,
+	 * followed be the special case rotations.
+	 * @param b1 The tile to be held static for comparison, as a mask.
+	 * @param b2 The tile to be rotated for comparison, as a mask.
+	 * @param rotTrack A collection of bit flags used for tracking the rotations.
+	 * @param exhaustive Whether to try every rotation, as orbit/stabilizer tracking
+	 * needs, or to stop at the first one which matches.
+	 * @return A truth value representing whether the two tiles are rotationally symmetric.
+	 */
+	public static boolean symmetricAroundAlphaPlane(int b1, int b2, int rotTrack,
+													boolean exhaustive){
+		
+		/* Hold b1 static, transform temps of b2 */
+		int tmp1, tmp2, tmp3, tmp4;
+		tmp1 = b2;	//+0 degrees
+		tmp2 = rotateAlphaPlane(tmp1);	//+90 degrees
+		tmp3 = rotateAlphaPlane(tmp2); 	//+180 degrees
+		tmp4 = rotateAlphaPlane(tmp3);	//+270 degrees
+
+		/* Each alpha plane rotation, followed by its flip around alpha-1 */
+		int[] turned = {	tmp1, rotateAroundAlpha1(tmp1),
+							tmp2, rotateAroundAlpha1(tmp2),
+							tmp3, rotateAroundAlpha1(tmp3),
+							tmp4, rotateAroundAlpha1(tmp4)	};
+		int[] tracks = {	rotTrack | NONE, rotTrack | NONE | ALPHA180,
+							rotTrack | PLANE90, rotTrack | PLANE90 | ALPHA180,
+							rotTrack | PLANE180, rotTrack | PLANE180 | ALPHA180,
+							rotTrack | PLANE270, rotTrack | PLANE270 | ALPHA180	};
+
+		/* Plain rotations first, then each of the special cases in turn */
+		boolean ret = false;
+		for(int pass = 0x00; pass < 0x05; pass++){
+			for(int c = 0x00; c < turned.length; c++){
+				if(ret && !exhaustive) return true;
+				switch(pass){
+					case 0x00:	ret |= match(b1, turned[c], tracks[c]);	break;
+					case 0x01:	ret |= symmetricPlusTetraDihedralAroundAlpha1(b1, turned[c], tracks[c]);	break;
+					case 0x02:	ret |= symmetricPlusTetrahedralAroundAlpha1(b1, turned[c], tracks[c]);	break;
+					case 0x03:	ret |= symmetricPlusTetraDihedralAroundAlpha2(b1, turned[c], tracks[c]);	break;
+					default:	ret |= symmetricPlusTetrahedralAroundAlpha2(b1, turned[c], tracks[c]);	break;
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Adapter for {@link #symmetricAroundAlphaPlane(int, int, int)} taking bit strings.
+	 * @param b1 The tile to be held static for comparison.
+	 * @param b2 The tile to be rotated for comparison.
+	 * @param rotTrack A collection of bit flags used for tracking the rotations.
+	 * @return A truth value representing whether the two tiles are rotationally symmetric.
+	 */
+	public static boolean symmetricAroundAlphaPlane(boolean[] b1,
+													boolean[] b2,
+													int rotTrack){
+		return symmetricAroundAlphaPlane(Tile.pack(b1), Tile.pack(b2), rotTrack);
+	}
+
+	/**
+	 * This is a "special case" rotation for tiles lying entirely in a hexagonal plane,
+	 * whose rotational symmetry group may be of higher order. If a tile is otherwise
+	 * in lex-minimal order but doesn't have arms in either of alpha-2 or alpha-4,
+	 * it's possible that while it would normally be an inverse of our current tile w.r.t
+	 * the the cuboctahedron, it's an inverse that's actually still identical and can
+	 * be reached with rotations only - just rotations that aren't generators for
+	 * the symmetry group of the cuboctahedron.
+	 * @see #symmetricPlusTetrahedralAroundAlpha1
+	 * @see #symmetricPlusTetraDihedralAroundAlpha2
+	 * @see #symmetricPlusTetrahedralAroundAlpha2
+	 * @param b1 The tile to be held static for comparison, as a mask.
+	 * @param b2 The tile to be rotated for comparison, as a mask.
+	 * @param rotTrack A collection of bit flags used for tracking the rotations.
+	 * @return A truth value representing whether the two tiles are rotationally symmetric.
+	 */
+	public static boolean symmetricPlusTetraDihedralAroundAlpha1(int b1, int b2, int rotTrack){
+
+		// We would lose 6 arms between axises with this operation,
+		boolean bail = !useExtra || (b2 & ~TETRADIHEDRAL1_DOMAIN) != 0x00;
+		if(SymmetryMetrics.ENABLED) SymmetryMetrics.specialCase(!bail);
+		if(bail)
+			return false;  // ... so don't do it
+		
+		return match(b1, tetraDihedralAroundAlpha1(b2), rotTrack | ALPHA_TETRADIHEDRAL);
+	}
+
+	/**
+	 * Adapter for {@link #symmetricPlusTetraDihedralAroundAlpha1(int, int, int)} taking bit strings.
+	 * @param b1 The tile to be held static for comparison.
+	 * @param b2 The tile to be rotated for comparison.
+	 * @param rotTrack A collection of bit flags used for tracking the rotations.
+	 * @return A truth value representing whether the two tiles are rotationally symmetric.
+	 */
+	public static boolean symmetricPlusTetraDihedralAroundAlpha1(boolean[] b1,
+													  boolean[] b2,
+													  int rotTrack){
+		return symmetricPlusTetraDihedralAroundAlpha1(Tile.pack(b1), Tile.pack(b2), rotTrack);
+	}
+
+	/**
+	 * An additional special case.
+	 * @see #symmetricPlusTetraDihedralAroundAlpha1
+	 * @see #symmetricPlusTetraDihedralAroundAlpha2
+	 * @see #symmetricPlusTetrahedralAroundAlpha2
+	 * @param b1 The tile to be held static for comparison, as a mask.
+	 * @param b2 The tile to be rotated for comparison, as a mask.
+	 * @param rotTrack A collection of bit flags used for tracking the rotations.
+	 * @return A truth value representing whether the two tiles are rotationally symmetric.
+	 */
+	public static boolean symmetricPlusTetrahedralAroundAlpha1(int b1, int b2, int rotTrack){
+
+		// We would lose 6 arms between axises with this operation,
+		boolean bail = !useExtra || (b2 & ~TETRAHEDRAL1_DOMAIN) != 0x00;
+		if(SymmetryMetrics.ENABLED) SymmetryMetrics.specialCase(!bail);
+		if(bail)
+			return false; // ... so don't do it
+		
+		return match(b1, tetrahedralAroundAlpha1(b2), rotTrack | ALPHA_TETRAHEDRAL);
+	}
+
+	/**
+	 * Adapter for {@link #symmetricPlusTetrahedralAroundAlpha1(int, int, int)} taking bit strings.
+	 * @param b1 The tile to be held static for comparison.
+	 * @param b2 The tile to be rotated for comparison.
+	 * @param rotTrack A collection of bit flags used for tracking the rotations.
+	 * @return A truth value representing whether the two tiles are rotationally symmetric.
+	 */
+	public static boolean symmetricPlusTetrahedralAroundAlpha1(boolean[] b1,
+													   boolean[] b2,
+													   int rotTrack){
+		return symmetricPlusTetrahedralAroundAlpha1(Tile.pack(b1), Tile.pack(b2), rotTrack);
+	}
+
+	/**
+	 * An additional special case.
+	 * @see #symmetricPlusTetraDihedralAroundAlpha1
+	 * @see #symmetricPlusTetrahedralAroundAlpha1
+	 * @see #symmetricPlusTetrahedralAroundAlpha2
+	 * @param b1 The tile to be held static for comparison, as a mask.
+	 * @param b2 The tile to be rotated for comparison, as a mask.
+	 * @param rotTrack A collection of bit flags used for tracking the rotations.
+	 * @return A truth value representing whether the two tiles are rotationally symmetric.
+	 */
+	public static boolean symmetricPlusTetraDihedralAroundAlpha2(int b1, int b2, int rotTrack){
+
+		// We would lose 6 arms between axises with this operation,
+		boolean bail = !useExtra || (b2 & ~TETRADIHEDRAL2_DOMAIN) != 0x00;
+		if(SymmetryMetrics.ENABLED) SymmetryMetrics.specialCase(!bail);
+		if(bail)
+			return false; // ... so don't do it
+		
+		return match(b1, tetraDihedralAroundAlpha2(b2), rotTrack | ALPHAT_TETRADIHEDRAL);
+	}
+
+	/**
+	 * Adapter for {@link #symmetricPlusTetraDihedralAroundAlpha2(int, int, int)} taking bit strings.
+	 * @param b1 The tile to be held static for comparison.
+	 * @param b2 The tile to be rotated for comparison.
+	 * @param rotTrack A collection of bit flags used for tracking the rotations.
+	 * @return A truth value representing whether the two tiles are rotationally symmetric.
+	 */
+	public static boolean symmetricPlusTetraDihedralAroundAlpha2(boolean[] b1,
+													  boolean[] b2,
+													  int rotTrack){
+		return symmetricPlusTetraDihedralAroundAlpha2(Tile.pack(b1), Tile.pack(b2), rotTrack);
+	}
+
+	/**
+	 * An additional special case.
+	 * @see #symmetricPlusTetraDihedralAroundAlpha1
+	 * @see #symmetricPlusTetrahedralAroundAlpha1
+	 * @see #symmetricPlusTetraDihedralAroundAlpha2
+	 * @param b1 The tile to be held static for comparison, as a mask.
+	 * @param b2 The tile to be rotated for comparison, as a mask.
+	 * @param rotTrack A collection of bit flags used for tracking the rotations.
+	 * @return A truth value representing whether the two tiles are rotationally symmetric.
+	 */
+	public static boolean symmetricPlusTetrahedralAroundAlpha2(int b1, int b2, int rotTrack){
+
+		// We would lose 6 arms between axises with this operation,
+		boolean bail = !useExtra || (b2 & ~TETRAHEDRAL2_DOMAIN) != 0x00;
+		if(SymmetryMetrics.ENABLED) SymmetryMetrics.specialCase(!bail);
+		if(bail)
+			return false; // ... so don't do it
+		
+		return match(b1, tetrahedralAroundAlpha2(b2), rotTrack | ALPHAT_TETRAHEDRAL);
+	}
+
+	/**
+	 * Adapter for {@link #symmetricPlusTetrahedralAroundAlpha2(int, int, int)} taking bit strings.
+	 * @param b1 The tile to be held static for comparison.
+	 * @param b2 The tile to be rotated for comparison.
+	 * @param rotTrack A collection of bit flags used for tracking the rotations.
+	 * @return A truth value representing whether the two tiles are rotationally symmetric.
+	 */
+	public static boolean symmetricPlusTetrahedralAroundAlpha2(boolean[] b1,
+													   boolean[] b2,
+													   int rotTrack){
+		return symmetricPlusTetrahedralAroundAlpha2(Tile.pack(b1), Tile.pack(b2), rotTrack);
+	}
+
+	/**
+	 * The arm mapping used by {@link #symmetricPlusTetraDihedralAroundAlpha1}.
+	 * @param b A tile lying in {@link #TETRADIHEDRAL1_DOMAIN}, as a mask.
+	 * @return b, rotated by the special case rotation.
+	 */
+	static int tetraDihedralAroundAlpha1(int b){
+		return	get(b, A1) << A1 |
+				get(b, A3) << A3 |
+
+				get(b, G1) << B1 |
+				get(b, G3) << B3 |
+
+				get(b, B2) << G2 |
+				get(b, B4) << G4;
+	}
+
+	/**
+	 * The arm mapping used by {@link #symmetricPlusTetrahedralAroundAlpha1}.
+	 * @param b A tile lying in {@link #TETRAHEDRAL1_DOMAIN}, as a mask.
+	 * @return b, rotated by the special case rotation.
+	 */
+	static int tetrahedralAroundAlpha1(int b){
+		return	get(b, A1) << A1 |
+				get(b, A3) << A3 |
+
+				get(b, B1) << B2 |
+				get(b, B3) << B4 |
+
+				get(b, G2) << G1 |
+				get(b, G4) << G3;
+	}
+
+	/**
+	 * The arm mapping used by {@link #symmetricPlusTetraDihedralAroundAlpha2}.
+	 * @param b A tile lying in {@link #TETRADIHEDRAL2_DOMAIN}, as a mask.
+	 * @return b, rotated by the special case rotation.
+	 */
+	static int tetraDihedralAroundAlpha2(int b){
+		return	get(b, A2) << A2 |
+				get(b, A4) << A4 |
+
+				get(b, G4) << B1 |
+				get(b, G2) << B3 |
+
+				get(b, B4) << G1 |
+				get(b, B2) << G3;
+	}
+
+	/**
+	 * The arm mapping used by {@link #symmetricPlusTetrahedralAroundAlpha2}.
+	 * @param b A tile lying in {@link #TETRAHEDRAL2_DOMAIN}, as a mask.
+	 * @return b, rotated by the special case rotation.
+	 */
+	static int tetrahedralAroundAlpha2(int b){
+		return	get(b, A2) << A2 |
+				get(b, A4) << A4 |
+
+				get(b, B1) << B2 |
+				get(b, B3) << B4 |
+
+				get(b, G1) << G2 |
+				get(b, G3) << G4;
+	}
+
+	/**
+	 * A rotation of 180 degrees around the alpha-1/alpha-3 axis.
+	 * @see #rotateAlphaPlane
+	 * @see #rotateBetaToAlpha
+	 * @param b The tile to be rotated, as a mask.
+	 * @return b, rotated by the 180-degree generator rotation.
+	 */
+	public static int rotateAroundAlpha1(int b){
+		/* Mirror alpha plane */
+		return	get(b, A1) << A1 |
+				get(b, A4) << A2 |
+				get(b, A3) << A3 |
+				get(b, A2) << A4 |
+
+				get(b, B2) << G1 |
+				get(b, G3) << B4 |
+				get(b, B3) << G4 |
+				get(b, G2) << B1 |
+
+				get(b, G1) << B2 |
+				get(b, B1) << G2 |
+				get(b, G4) << B3 |
+				get(b, B4) << G3;
+	}
+
+	/**
+	 * Adapter for {@link #rotateAroundAlpha1(int)} taking a bit string.
+	 * @param b The tile to be rotated.
+	 * @return A copy of b, rotated by the 180-degree generator rotation.
+	 */
+	public static boolean[] rotateAroundAlpha1(boolean[] b){
+		return Tile.unpack(rotateAroundAlpha1(Tile.pack(b)));
+	}
+
+	/** 
+	 * A rotation of 90 degrees around the center of the face formed by
+	 * beta-2, beta-3, gamma-2, and gamma-3 (i.e. the square on top)
+	 * @see #rotateAroundAlpha1
+	 * @see #rotateBetaToAlpha
+	 * @param b The tile to be rotated, as a mask.
+	 * @return b, rotated by the 90-degree generator rotation.
+	 */
+	public static int rotateAlphaPlane(int b){
+		return	get(b, A2) << A1 |
+				get(b, A3) << A2 |
+				get(b, A4) << A3 |
+				get(b, A1) << A4 |
+
+				get(b, G3) << B3 |
+				get(b, B2) << G3 |
+				get(b, G2) << B2 |
+				get(b, B3) << G2 |
+
+				get(b, G4) << B4 |
+				get(b, B4) << G1 |
+				get(b, G1) << B1 |
+				get(b, B1) << G4;
+	}
+
+	/**
+	 * Adapter for {@link #rotateAlphaPlane(int)} taking a bit string.
+	 * @param b The tile to be rotated.
+	 * @return A copy of b, rotated by the 90-degree generator rotation.
+	 */
+	public static boolean[] rotateAlphaPlane(boolean[] b){
+		return Tile.unpack(rotateAlphaPlane(Tile.pack(b)));
+	}
+
+	/**
+	 * A rotation of 120 degrees around the center of
+	 * the face formed by alpha-1, beta-1, and gamma-1
+	 * @see #rotateAroundAlpha1
+	 * @see #rotateAlphaPlane
+	 * @param b The tile to be rotated, as a mask.
+	 * @return b, rotated by the 120-degree generator rotation.
+	 */
+	public static int rotateBetaToAlpha(int b){
+		return	get(b, B1) << A1 |
+				get(b, B2) << A2 |
+				get(b, B3) << A3 |
+				get(b, B4) << A4 |
+
+				get(b, G1) << B1 |
+				get(b, G4) << B2 |
+				get(b, G3) << B3 |
+				get(b, G2) << B4 |
+
+				get(b, A1) << G1 |
+				get(b, A4) << G2 |
+				get(b, A3) << G3 |
+				get(b, A2) << G4;
+	}
+
+	/**
+	 * Adapter for {@link #rotateBetaToAlpha(int)} taking a bit string.
+	 * @param b The tile to be rotated.
+	 * @return A copy of b, rotated by the 120-degree generator rotation.
+	 */
+	public static boolean[] rotateBetaToAlpha(boolean[] b){
+		return Tile.unpack(rotateBetaToAlpha(Tile.pack(b)));
+	}
+
+	/**
+	 * @param b A tile, as a mask.
+	 * @param arm An arm number.
+	 * @return 1 if b has that arm, 0 otherwise.
+	 */
+	private static int get(int b, int arm){	return (b >>> arm) & 0x01;	}
+
+	/**
+	 * @param arm An arm number.
+	 * @return The mask containing only that arm.
+	 */
+	private static int bit(int arm){	return 0x01 << arm;	}
+
+	/**
+	 * A convenience function to retrieve the arm number represented by
+	 * a String of the form [abg][1234].
+	 * @param s A String of the form [abg][1234].
+	 * @return The arm number represented by that string.
+	 */
+	public static int a2I(String s){
+		// There should be no reason to change
+		// this function as long as the arm naming schema
+		// remains the same.
+		char a = s.charAt(0);
+		char n = s.charAt(1);
+		int i = 0;
+		switch(a){		// We switch these backwards to chain conditions
+			case 'g':	// and avoid the use of break.
+				i++;
+			case 'b':
+				i++;
+			case 'a':
+				i *= 4;		// Scale the current index (0-2) by 4 
+				switch(n){	// so it points at A1, B1, or G1 ...
+					case '4':	// ... and repeat our reverse
+						i++;	// switching order trick.
+					case '3':
+						i++;
+					case '2':
+						i++;
+					case '1':
+						return i;
+				}
+		}
+
+		System.err.println("Invalid input " + s);
+		System.exit(0x01);
+		return -1; //This makes the compiler happy even though we'll never ever get here.
+	}
+		
+
+}
\ No newline at end of file
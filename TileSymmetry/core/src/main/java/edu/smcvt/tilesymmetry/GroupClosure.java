@@ -0,0 +1,328 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.util.*;
+import java.util.function.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * A GroupClosure takes a few generator permutations of a node's arms and closes
+ * them into the whole group they generate, with each element listed exactly
+ * once. It can then say which element, if any, some composition of rotations
+ * amounts to, which is how a hand-built table of compositions, like the one in
+ * {@link SymmetryTable}, is checked for covering the group exactly once.
+ * <p>
+ * Generators can be given as permutations or as the rotate* methods of
+ * {@link CuboctahedronSymmetry} themselves, which are turned into permutations
+ * by rotating each single-armed tile.
+ * <p>
+ * Once closed, the group's multiplication (Cayley) table and each element's
+ * inverse are kept, so composing elements never touches a permutation again.
+ * @see PolyhedralSymmetry
+ */
+public final class GroupClosure{
+
+	private static final int MAX_ARMS = 0x10;
+	private static final int MAX_ORDER = 0x400;
+
+	/**
+	 * The rotation group of the cuboctahedron, generated by
+	 * {@link CuboctahedronSymmetry#rotateBetaToAlpha},
+	 * {@link CuboctahedronSymmetry#rotateAlphaPlane}, and
+	 * {@link CuboctahedronSymmetry#rotateAroundAlpha1}.
+	 */
+	public static final GroupClosure CUBOCTAHEDRON = new GroupClosure(Tile.LENGTH,
+		CuboctahedronSymmetry::rotateBetaToAlpha,
+		CuboctahedronSymmetry::rotateAlphaPlane,
+		CuboctahedronSymmetry::rotateAroundAlpha1);
+
+	private final int arms;
+	private final int generators;
+	private final byte[][] perms;					// perms[id][arm] is where arm ends up
+	private final HashMap<Long, Integer> ids;		// Keyed by packed permutation
+	private final short[] products;				// products[a * order + b] is a, then b
+	private final short[] inverses;
+
+	/**
+	 * Closes some permutations of the arms into a group.
+	 * @param gens Permutations of the arms: entry i of each is the arm that arm i is moved to.
+	 * There must be at least one, and they must all move the same number of arms.
+	 * @throws IllegalArgumentException If a generator isn't a permutation of the arms,
+	 * or the group is too large.
+	 */
+	public GroupClosure(int[]... gens){
+		arms = (gens.length > 0x00) ? gens[0].length : 0x00;
+		if(arms == 0x00 || arms > MAX_ARMS)
+			throw new IllegalArgumentException("generators must move from 1 to " + MAX_ARMS + " arms");
+		for(int g = 0x00; g < gens.length; g++){
+			int used = 0x00;
+			if(gens[g].length != arms)
+				throw new IllegalArgumentException("generator " + g + " doesn't move " + arms + " arms");
+			for(int arm = 0x00; arm < arms; arm++){
+				if(gens[g][arm] < 0x00 || gens[g][arm] >= arms || (used & (0x01 << gens[g][arm])) != 0x00)
+					throw new IllegalArgumentException("generator " + g + " isn't a permutation of the arms");
+				used |= 0x01 << gens[g][arm];
+			}
+		}
+		generators = gens.length;
+		ids = new HashMap<Long, Integer>();
+
+		/* Multiply each element found so far by each generator until nothing
+		 * new turns up. In a finite group that reaches every element. */
+		List<byte[]> elements = new ArrayList<byte[]>();
+		byte[] identity = new byte[arms];
+		for(int arm = 0x00; arm < arms; arm++)
+			identity[arm] = (byte)arm;
+		elements.add(identity);
+		ids.put(key(identity), 0x00);
+		for(int head = 0x00; head < elements.size(); head++){
+			byte[] g = elements.get(head);
+			for(int[] gen : gens){
+				byte[] h = new byte[arms];
+				for(int arm = 0x00; arm < arms; arm++)
+					h[arm] = (byte)gen[g[arm]];
+				if(ids.containsKey(key(h))) continue;
+				if(elements.size() == MAX_ORDER)
+					throw new IllegalArgumentException("the generators make a group of more than " +
+													   MAX_ORDER + " elements");
+				ids.put(key(h), elements.size());
+				elements.add(h);
+			}
+		}
+		perms = elements.toArray(new byte[elements.size()][]);
+
+		products = new short[perms.length * perms.length];
+		inverses = new short[perms.length];
+		byte[] h = new byte[arms];
+		for(int a = 0x00; a < perms.length; a++)
+			for(int b = 0x00; b < perms.length; b++){
+				for(int arm = 0x00; arm < arms; arm++)
+					h[arm] = perms[b][perms[a][arm]];
+				int ab = ids.get(key(h));
+				products[a * perms.length + b] = (short)ab;
+				if(ab == 0x00) inverses[a] = (short)b;
+			}
+	}
+
+	/**
+	 * Closes some rotations of tiles into a group.
+	 * @param n The number of arms.
+	 * @param gens The rotations, each taking a tile to the rotated tile, as masks.
+	 * @throws IllegalArgumentException If a rotation doesn't permute the arms,
+	 * or the group is too large.
+	 */
+	public GroupClosure(int n, IntUnaryOperator... gens){	this(permutations(n, gens));	}
+
+	private static int[][] permutations(int n, IntUnaryOperator[] gens){
+		int[][] perms = new int[gens.length][];
+		for(int g = 0x00; g < gens.length; g++)
+			perms[g] = permutation(n, gens[g]);
+		return perms;
+	}
+
+	/**
+	 * Finds the permutation of the arms a rotation of tiles makes.
+	 * @param n The number of arms.
+	 * @param rotation Takes a tile to the rotated tile, as masks.
+	 * @return Entry i is the arm that arm i is moved to.
+	 * @throws IllegalArgumentException If the rotation doesn't take each arm to a single arm.
+	 */
+	public static int[] permutation(int n, IntUnaryOperator rotation){
+		int[] perm = new int[n];
+		for(int arm = 0x00; arm < n; arm++){
+			int image = rotation.applyAsInt(0x01 << arm);
+			if(Integer.bitCount(image) != 0x01 || image >= (0x01 << n))
+				throw new IllegalArgumentException("arm " + arm + " isn't rotated onto a single arm");
+			perm[arm] = Integer.numberOfTrailingZeros(image);
+		}
+		return perm;
+	}
+
+	/* A permutation of up to 16 arms packed 4 bits to an arm */
+	private static long key(byte[] perm){
+		long key = 0x00;
+		for(int arm = 0x00; arm < perm.length; arm++)
+			key |= ((long)perm[arm]) << (arm << 0x02);
+		return key;
+	}
+
+	/**
+	 * @return The number of arms the elements move.
+	 */
+	public int getArmCount(){	return arms;	}
+
+	/**
+	 * @return The number of generators the group was closed from.
+	 */
+	public int getGeneratorCount(){	return generators;	}
+
+	/**
+	 * @return The number of elements in the group.
+	 */
+	public int getOrder(){	return perms.length;	}
+
+	/**
+	 * @param id The element number, from 0 (the identity) to {@link #getOrder} - 1.
+	 * @return A copy of the element as a permutation: entry i is the arm that arm i is moved to.
+	 */
+	public int[] getPermutation(int id){
+		int[] perm = new int[arms];
+		for(int arm = 0x00; arm < arms; arm++)
+			perm[arm] = perms[id][arm];
+		return perm;
+	}
+
+	/**
+	 * Composes two elements by looking them up in the multiplication table.
+	 * @param a The element applied first.
+	 * @param b The element applied second.
+	 * @return The element which does a, then b.
+	 */
+	public int multiply(int a, int b){	return products[a * perms.length + b];	}
+
+	/**
+	 * @param id An element number.
+	 * @return The element which undoes it.
+	 */
+	public int inverse(int id){	return inverses[id];	}
+
+	/**
+	 * @param perm A permutation of the arms.
+	 * @return The number of the element making that permutation, or -1 if it isn't in the group.
+	 */
+	public int indexOf(int[] perm){
+		if(perm.length != arms) return -1;
+		byte[] b = new byte[arms];
+		for(int arm = 0x00; arm < arms; arm++){
+			if(perm[arm] < 0x00 || perm[arm] >= arms) return -1;
+			b[arm] = (byte)perm[arm];
+		}
+		Integer id = ids.get(key(b));
+		return (id != null) ? id : -1;
+	}
+
+	/**
+	 * Finds the element each of a list of compositions amounts to.
+	 * @param compositions Permutations of the arms.
+	 * @return Entry i is the number of the element making compositions[i], or -1 if it isn't in the group.
+	 */
+	public int[] identify(int[][] compositions){
+		int[] found = new int[compositions.length];
+		for(int i = 0x00; i < compositions.length; i++)
+			found[i] = indexOf(compositions[i]);
+		return found;
+	}
+
+	/**
+	 * @param compositions Permutations of the arms.
+	 * @return Whether or not the compositions make every element of the group exactly once.
+	 */
+	public boolean isExact(int[][] compositions){
+		if(compositions.length != perms.length) return false;
+		boolean[] hit = new boolean[perms.length];
+		for(int id : identify(compositions)){
+			if(id < 0x00 || hit[id]) return false;
+			hit[id] = true;
+		}
+		return true;
+	}
+
+	/**
+	 * Describes how a list of compositions covers the group: its order, and
+	 * which compositions repeat an element, fall outside the group, or are missing.
+	 * @param compositions Permutations of the arms.
+	 * @return The report, one finding per line.
+	 */
+	public String report(int[][] compositions){
+		int[] found = identify(compositions);
+		int[] first = new int[perms.length];
+		Arrays.fill(first, -1);
+		StringBuilder sb = new StringBuilder();
+		sb.append("Group order:\t").append(perms.length).append(" (from ").append(generators)
+		  .append(" generators)\n");
+		sb.append("Compositions:\t").append(compositions.length).append('\n');
+		int duplicates = 0x00, outside = 0x00, missing = 0x00;
+		for(int i = 0x00; i < found.length; i++){
+			if(found[i] < 0x00){
+				sb.append("Not in the group:\tcomposition ").append(i).append('\n');
+				outside++;
+			} else if(first[found[i]] >= 0x00){
+				sb.append("Duplicate:\tcomposition ").append(i).append(" repeats composition ")
+				  .append(first[found[i]]).append('\n');
+				duplicates++;
+			} else{
+				first[found[i]] = i;
+			}
+		}
+		for(int id = 0x00; id < perms.length; id++)
+			if(first[id] < 0x00){
+				sb.append("Missing:\telement ").append(id).append(' ')
+				  .append(Arrays.toString(getPermutation(id))).append('\n');
+				missing++;
+			}
+		sb.append("Duplicates:\t").append(duplicates).append("\nNot in the group:\t").append(outside)
+		  .append("\nMissing:\t").append(missing).append('\n');
+		return sb.toString();
+	}
+
+	/**
+	 * This is a test driver which closes the cuboctahedron's generator rotations
+	 * and reports how the plain compositions in {@link SymmetryTable} cover the
+	 * group, and that none of the special case compositions is a rotation,
+	 * exiting with status 1 if the plain ones don't cover it exactly once,
+	 * the multiplication table doesn't agree with composing the plain ones,
+	 * or the group isn't the one {@link PolyhedralSymmetry} finds.
+	 * It doesn't care about args.
+	 */
+	public static void main(String args[]){
+		GroupClosure c = CUBOCTAHEDRON;
+		SymmetryTable table = SymmetryTable.CUBOCTAHEDRON;
+		List<int[]> plain = new ArrayList<int[]>();
+		int special = 0x00, rotations = 0x00;
+		for(int id = 0x00; id < table.size(); id++){
+			if(!table.isSpecialCase(id)){
+				plain.add(table.getPermutation(id));
+				continue;
+			}
+			/* A special case is only a rotation if some element agrees with it on its domain */
+			special++;
+			int[] perm = table.getPermutation(id);
+			for(int g = 0x00; g < c.getOrder(); g++){
+				boolean agree = true;
+				for(int arm = 0x00; arm < c.arms && agree; arm++)
+					agree = perm[arm] < 0x00 || perm[arm] == c.perms[g][arm];
+				if(agree){
+					rotations++;
+					break;
+				}
+			}
+		}
+		int[][] compositions = plain.toArray(new int[plain.size()][]);
+		System.out.print(c.report(compositions));
+		System.out.println("Special cases:\t" + special + ", of which rotations:\t" + rotations);
+
+		boolean same = c.isExact(compositions) && table.isExact() &&
+					   c.getOrder() == PolyhedralSymmetry.CUBOCTAHEDRON.getOrder();
+		for(int g = 0x00; g < c.getOrder(); g++)
+			same &= PolyhedralSymmetry.CUBOCTAHEDRON.getElementId(c.getPermutation(g)) >= 0x00;
+		System.out.println("Exact:\t" + (same ? "same" : "DIFFERENT"));
+
+		/* Doing one plain composition after another has to be what the table says */
+		int[] found = c.identify(compositions);
+		int[] composed = new int[c.arms];
+		boolean products = true;
+		for(int i = 0x00; i < compositions.length; i++)
+			for(int j = 0x00; j < compositions.length; j++){
+				for(int arm = 0x00; arm < c.arms; arm++)
+					composed[arm] = compositions[j][compositions[i][arm]];
+				products &= c.indexOf(composed) == c.multiply(found[i], found[j]);
+			}
+		for(int g = 0x00; g < c.getOrder(); g++)
+			products &= c.multiply(g, c.inverse(g)) == 0x00 && c.multiply(c.inverse(g), g) == 0x00;
+		System.out.println("Multiplication table:\t" + (products ? "same" : "DIFFERENT"));
+		same &= products;
+		if(!same) System.exit(0x01);
+	}
+}
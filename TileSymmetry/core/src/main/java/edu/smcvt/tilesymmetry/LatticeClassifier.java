@@ -0,0 +1,436 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.*;
+import java.util.stream.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * A LatticeClassifier reads a whole octet truss, works out the tile at every
+ * node from the struts meeting there, and sorts the nodes into tile classes,
+ * so the tiles a structure needs can be counted without typing any of them in.
+ * <p>
+ * The lattice is read in the wireframe subset of the OBJ format: a line
+ * "v x y z" is a node, numbered from 1 in the order they appear, and a line
+ * "l i j ..." is a strut (or a chain of struts) between nodes, which may also
+ * be numbered back from the latest node as -1, -2, .... Nodes have to come
+ * before the struts using them, and each lattice read numbers its nodes from 1
+ * again, so its struts can only join its own nodes. Anything after a '#' is a comment, and other
+ * lines, such as the faces and normals other OBJ exporters write, are skipped.
+ * <p>
+ * Every strut has to lie along one of the 12 arm directions of the
+ * cuboctahedron, as laid out by {@link PolyhedralSymmetry#CUBOCTAHEDRON}: the
+ * alpha arms in the z = 0 plane, from A1 at (1, 1, 0) round through (-1, 1, 0),
+ * (-1, -1, 0), and (1, -1, 0), the beta arms in y = 0 from B1 at (1, 0, 1), and
+ * the gamma arms in x = 0 from G1 at (0, 1, 1). Any scale will do, as only the
+ * direction of each strut matters.
+ * <p>
+ * Lines are parsed in chunks on a {@link ForkJoinPool} while the rest are still
+ * being read. Only a few chunks per thread are ever in flight, and each is
+ * taken in, struts and all, as soon as the ones before it have been, so neither
+ * the whole text nor a line per node is ever held. The nodes are classified in
+ * parallel once the struts are in.
+ * @see TileCatalog
+ */
+public final class LatticeClassifier{
+
+	private static final int CHUNK_LINES = 0x4000;
+	private static final double TOLERANCE = 1e-6;
+	private static final Pattern SPACES = Pattern.compile("\\s+");
+	private static final int[] ARMS = new int[0x1b];	// Indexed by direction, as in direction()
+
+	static{
+		Arrays.fill(ARMS, -1);
+		for(int arm = 0x00; arm < Tile.LENGTH; arm++){
+			int[] v = PolyhedralSymmetry.CUBOCTAHEDRON.getVertex(arm);
+			ARMS[direction(v[0], v[1], v[2])] = arm;
+		}
+	}
+
+	private final TileCatalog catalog;
+	private final ForkJoinPool pool;
+	private int nodes;
+	private long struts;
+	private short[] masks;		// Indexed by node
+	private short[] classIds;	// Indexed by node
+	private long[] histogram;	// Indexed by class id
+
+	/**
+	 * Instantiates a LatticeClassifier which runs in the common pool.
+	 * @param cat The catalog to classify tiles with.
+	 */
+	public LatticeClassifier(TileCatalog cat){	this(cat, ForkJoinPool.commonPool());	}
+
+	/**
+	 * @param cat The catalog to classify tiles with.
+	 * @param p The pool to run in.
+	 */
+	public LatticeClassifier(TileCatalog cat, ForkJoinPool p){
+		catalog = cat;
+		pool = p;
+		masks = new short[0x00];
+		classIds = new short[0x00];
+		histogram = new long[cat.getClassCount()];
+	}
+
+	/**
+	 * One chunk of lines, parsed into its nodes and struts. Struts are kept as
+	 * they were written until the chunks before have been counted up, since
+	 * node numbers counting back from the latest depend on them.
+	 */
+	private static final class Chunk extends RecursiveAction{
+		private static final long serialVersionUID = 0x01L;
+
+		private String[] lines;
+		private final int lineCount;
+		private final long firstLine;
+		private double[] coords = new double[0x30];
+		private int nodes;
+		private int[] ends = new int[0x20];		// Pairs of node numbers, as written
+		private int[] localNodes = new int[0x10];	// Nodes in the chunk before each pair
+		private long[] strutLines = new long[0x10];
+		private int struts;
+		private String error;
+
+		Chunk(String[] l, int count, long first){
+			lines = l;
+			lineCount = count;
+			firstLine = first;
+		}
+
+		protected void compute(){
+			for(int i = 0x00; i < lineCount && error == null; i++){
+				try{
+					parse(lines[i], firstLine + i);
+				} catch(NumberFormatException e){
+					error = "line " + (firstLine + i) + ": bad number (" + e.getMessage() + ")";
+				} catch(IllegalArgumentException e){
+					error = "line " + (firstLine + i) + ": " + e.getMessage();
+				}
+			}
+			lines = null;
+		}
+
+		private void parse(String line, long lineNo){
+			int hash = line.indexOf('#');
+			line = ((hash >= 0x00) ? line.substring(0x00, hash) : line).trim();
+			String[] tokens = SPACES.split(line, -1);
+			if(tokens[0].equals("v")){
+				if(tokens.length < 0x04)
+					throw new IllegalArgumentException("a node needs x, y, and z");
+				if(3 * (nodes + 0x01) > coords.length)
+					coords = Arrays.copyOf(coords, coords.length << 0x01);
+				for(int k = 0x00; k < 0x03; k++)
+					coords[3 * nodes + k] = Double.parseDouble(tokens[k + 0x01]);
+				nodes++;
+			} else if(tokens[0].equals("l")){
+				if(tokens.length < 0x03)
+					throw new IllegalArgumentException("a strut needs two nodes");
+				for(int k = 0x01; k + 0x01 < tokens.length; k++){
+					if(struts == localNodes.length){
+						ends = Arrays.copyOf(ends, ends.length << 0x01);
+						localNodes = Arrays.copyOf(localNodes, localNodes.length << 0x01);
+						strutLines = Arrays.copyOf(strutLines, strutLines.length << 0x01);
+					}
+					ends[struts << 0x01] = node(tokens[k]);
+					ends[(struts << 0x01) + 0x01] = node(tokens[k + 0x01]);
+					localNodes[struts] = nodes;
+					strutLines[struts++] = lineNo;
+				}
+			}
+		}
+
+		private static int node(String token){
+			int i = Integer.parseInt(token.contains("/") ? token.substring(0x00, token.indexOf('/')) : token);
+			if(i == 0x00)
+				throw new IllegalArgumentException("nodes are numbered from 1");
+			return i;
+		}
+	}
+
+	/**
+	 * Reads a lattice, adding its nodes to any already read, and classifies them.
+	 * Its nodes are numbered from 1 again in the text, but are indexed after
+	 * those already read.
+	 * @param in Where to read the lattice from. It is buffered here, so needn't be already.
+	 * @throws IOException If reading fails, or the lattice isn't valid. Nothing
+	 * read before the problem is kept.
+	 */
+	public void read(Reader in) throws IOException{
+		BufferedReader r = (in instanceof BufferedReader) ? (BufferedReader)in : new BufferedReader(in, 0x10000);
+		Lattice l = new Lattice();
+		ArrayDeque<Chunk> chunks = new ArrayDeque<Chunk>();
+		int inFlight = pool.getParallelism() << 0x01;
+		String[] lines = new String[CHUNK_LINES];
+		int count = 0x00;
+		long lineNo = 0x01, first = 0x01;
+		String line;
+		while((line = r.readLine()) != null){
+			lines[count++] = line;
+			lineNo++;
+			if(count == CHUNK_LINES){
+				chunks.addLast(submit(new Chunk(lines, count, first)));
+				lines = new String[CHUNK_LINES];
+				count = 0x00;
+				first = lineNo;
+				while(chunks.size() > inFlight) l.add(chunks.removeFirst());
+			}
+		}
+		if(count > 0x00) chunks.addLast(submit(new Chunk(lines, count, first)));
+		while(!chunks.isEmpty()) l.add(chunks.removeFirst());
+
+		/* Everything checked out, so keep it */
+		int from = nodes, to = nodes + l.nodes;
+		masks = Arrays.copyOf(masks, to);
+		System.arraycopy(l.masks, 0x00, masks, from, l.nodes);
+		nodes = to;
+		struts += l.struts;
+		classIds = Arrays.copyOf(classIds, to);
+		pool.submit(() -> IntStream.range(from, to).parallel()
+									.forEach(n -> classIds[n] = (short)catalog.getClassId(masks[n])))
+			.join();
+		long[] counts = pool.submit(() -> IntStream.range(from, to).parallel()
+												.collect(() -> new long[histogram.length],
+														 (h, n) -> h[classIds[n]]++,
+														 (h1, h2) -> { for(int i = 0x00; i < h1.length; i++) h1[i] += h2[i]; }))
+							.join();
+		for(int id = 0x00; id < histogram.length; id++)
+			histogram[id] += counts[id];
+	}
+
+	private Chunk submit(Chunk c){
+		pool.execute(c);
+		return c;
+	}
+
+	/**
+	 * The nodes and tiles of the lattice being read, taken in a chunk at a time,
+	 * indexed from 0 at its own first node.
+	 */
+	private static final class Lattice{
+		private double[] coords = new double[0x30];
+		private short[] masks = new short[0x10];
+		private int nodes;
+		private long struts;
+
+		/* Waits for the next chunk, then takes in its nodes and puts its struts in */
+		void add(Chunk c) throws IOException{
+			c.join();
+			if(c.error != null) throw new IOException(c.error);
+			int base = nodes;
+			if(base + c.nodes > masks.length){
+				int length = Math.max(masks.length << 0x01, base + c.nodes);
+				masks = Arrays.copyOf(masks, length);
+				coords = Arrays.copyOf(coords, 3 * length);
+			}
+			System.arraycopy(c.coords, 0x00, coords, 3 * base, 3 * c.nodes);
+			nodes += c.nodes;
+			for(int s = 0x00; s < c.struts; s++){
+				int a = resolve(c.ends[s << 0x01], base + c.localNodes[s], c.strutLines[s]);
+				int b = resolve(c.ends[(s << 0x01) + 0x01], base + c.localNodes[s], c.strutLines[s]);
+				int i = 3 * a, j = 3 * b;
+				int arm = arm(coords[j] - coords[i], coords[j + 1] - coords[i + 1], coords[j + 2] - coords[i + 2]);
+				int back = arm(coords[i] - coords[j], coords[i + 1] - coords[j + 1], coords[i + 2] - coords[j + 2]);
+				if(arm < 0x00 || back < 0x00)
+					throw new IOException("line " + c.strutLines[s] + ": strut from node " + (a + 0x01) +
+										  " to " + (b + 0x01) + " isn't along an arm");
+				masks[a] |= 0x01 << arm;
+				masks[b] |= 0x01 << back;
+				struts++;
+			}
+		}
+	}
+
+	/* A node number as written, 1 up or -1 back from the latest, to a node index */
+	private static int resolve(int written, int before, long lineNo) throws IOException{
+		int node = (written > 0x00) ? written - 0x01 : before + written;
+		if(node < 0x00 || node >= before)
+			throw new IOException("line " + lineNo + ": no node " + written + " yet");
+		return node;
+	}
+
+	/* Packs a direction with each component from -1 to 1 into 0 to 26 */
+	private static int direction(int x, int y, int z){	return ((x + 0x01) * 0x03 + (y + 0x01)) * 0x03 + (z + 0x01);	}
+
+	/**
+	 * Finds the arm pointing along a direction.
+	 * @param dx The direction's x component.
+	 * @param dy The direction's y component.
+	 * @param dz The direction's z component.
+	 * @return The arm number, or -1 if the direction isn't along an arm.
+	 */
+	public static int arm(double dx, double dy, double dz){
+		double scale = Math.max(Math.abs(dx), Math.max(Math.abs(dy), Math.abs(dz)));
+		if(!(scale > 0.0) || Double.isInfinite(scale)) return -1;
+		long x = Math.round(dx / scale), y = Math.round(dy / scale), z = Math.round(dz / scale);
+		if(Math.abs(dx / scale - x) > TOLERANCE || Math.abs(dy / scale - y) > TOLERANCE ||
+		   Math.abs(dz / scale - z) > TOLERANCE)
+			return -1;
+		return ARMS[direction((int)x, (int)y, (int)z)];
+	}
+
+	/**
+	 * @return The number of nodes read.
+	 */
+	public int getNodeCount(){	return nodes;	}
+
+	/**
+	 * @return The number of struts read.
+	 */
+	public long getStrutCount(){	return struts;	}
+
+	/**
+	 * @param node A node index, counting from 0 in the order they were read.
+	 * @return The node's tile, as a mask.
+	 */
+	public int getMask(int node){	return masks[node];	}
+
+	/**
+	 * @param node A node index, counting from 0 in the order they were read.
+	 * @return The id of the node's tile class.
+	 */
+	public int getClassId(int node){	return classIds[node];	}
+
+	/**
+	 * Finds how a node's tile has to be turned to be installed as its tile type,
+	 * with the same settings as the catalog.
+	 * @param node A node index, counting from 0 in the order they were read.
+	 * @return The element turning the node's tile into its lex-minimal tile,
+	 * numbered as by {@link CanonicalTable#getElementId}.
+	 */
+	public int getElementId(int node){	return catalog.getElementId(masks[node]);	}
+
+	/**
+	 * @param classId A class id.
+	 * @return The number of nodes of that tile class.
+	 */
+	public long getCount(int classId){	return histogram[classId];	}
+
+	/**
+	 * @return A copy of the number of nodes of each tile class, indexed by class id.
+	 */
+	public long[] getHistogram(){	return histogram.clone();	}
+
+	/**
+	 * Writes a line for each tile class with any nodes: its class id, its
+	 * lex-minimal tile as a hex mask and as arm names, and the number of nodes,
+	 * separated by tabs, e.g. "17\t0x111\tA1, B1, G1\t2048".
+	 * @param out Where to write the histogram. It is flushed at the end.
+	 * @throws IOException If writing fails.
+	 */
+	public void writeHistogram(Writer out) throws IOException{
+		BufferedWriter w = new BufferedWriter(out);
+		for(int id = 0x00; id < histogram.length; id++){
+			if(histogram[id] == 0x00) continue;
+			int rep = catalog.getClassRepresentative(id);
+			w.write(id + "\t0x" + Integer.toHexString(rep) + "\t" + BatchCanonicalizer.names(rep) +
+					"\t" + histogram[id] + "\n");
+		}
+		w.flush();
+	}
+
+	/**
+	 * This is a test driver which builds a block of octet truss, reads it back
+	 * in, and checks every node's tile against the struts that were written,
+	 * and its class against {@link CanonicalTable}, along with a few broken
+	 * lattices. It then reads the block twice more into one classifier, on a
+	 * single thread so only two chunks are in flight at once, and checks the
+	 * second copy's nodes were kept apart from the first's. It exits with
+	 * status 1 if anything is wrong.
+	 * It doesn't care about args.
+	 */
+	public static void main(String args[]) throws IOException{
+		int size = 0x18;
+		SymmetryEngine engine = SymmetryEngine.DEFAULT;
+		CanonicalTable table = engine.getCanonicalTable();
+
+		/* The points of the face-centered cubic lattice in a cube, scaled by a half,
+		 * with a strut to every neighbor in the cube */
+		Map<List<Integer>, Integer> index = new HashMap<List<Integer>, Integer>();
+		List<int[]> points = new ArrayList<int[]>();
+		StringBuilder obj = new StringBuilder("# octet truss, " + size + " on a side\n");
+		for(int x = 0x00; x < size; x++)
+			for(int y = 0x00; y < size; y++)
+				for(int z = 0x00; z < size; z++){
+					if(((x + y + z) & 0x01) != 0x00) continue;
+					index.put(Arrays.asList(x, y, z), points.size());
+					points.add(new int[]{ x, y, z });
+					obj.append("v ").append(x * 0.5).append(' ').append(y * 0.5).append(' ')
+					   .append(z * 0.5).append('\n');
+				}
+		int[] expected = new int[points.size()];
+		long strutCount = 0x00;
+		for(int p = 0x00; p < points.size(); p++)
+			for(int arm = 0x00; arm < Tile.LENGTH; arm++){
+				int[] v = PolyhedralSymmetry.CUBOCTAHEDRON.getVertex(arm);
+				int[] q = points.get(p);
+				Integer n = index.get(Arrays.asList(q[0] + v[0], q[1] + v[1], q[2] + v[2]));
+				if(n == null) continue;
+				expected[p] |= 0x01 << arm;
+				if(n < p) continue;
+				obj.append((p % 0x03 == 0x00) ? "l " + (p + 0x01) + " " + (n + 0x01)
+											  : "l " + (p + 0x01) + "/1 " + (n + 0x01));
+				obj.append('\n');
+				strutCount++;
+			}
+
+		LatticeClassifier lc = new LatticeClassifier(new TileCatalog(engine));
+		long start = System.nanoTime();
+		lc.read(new StringReader(obj.toString()));
+		long elapsed = System.nanoTime() - start;
+		boolean same = lc.getNodeCount() == points.size() && lc.getStrutCount() == strutCount;
+		long[] counts = new long[table.getClassCount()];
+		for(int p = 0x00; same && p < points.size(); p++){
+			same &= lc.getMask(p) == expected[p] && lc.getClassId(p) == table.getClassId(expected[p]) &&
+					CanonicalTable.orient(lc.getElementId(p), expected[p]) == table.getRepresentative(expected[p]);
+			counts[table.getClassId(expected[p])]++;
+		}
+		same &= Arrays.equals(counts, lc.getHistogram());
+		StringWriter hist = new StringWriter();
+		lc.writeHistogram(hist);
+		System.out.print(hist);
+		System.out.println(lc.getNodeCount() + " nodes, " + lc.getStrutCount() + " struts, read in " +
+						   (elapsed / 1000000) + " ms\t" + (same ? "same" : "DIFFERENT"));
+
+		String[] bad = { "v 0 0 0\nv 1 0 0\nl 1 2\n",		// Not along an arm
+						 "v 0 0 0\nl 1 2\n",				// No such node yet
+						 "v 0 0\n",							// Too few coordinates
+						 "v 0 0 0\nv 1 1 0\nl 1 0\n",		// Numbered from 0
+						 "v 0 0 0\nv 1 1 x\n" };			// Not a number
+		for(String b : bad){
+			LatticeClassifier broken = new LatticeClassifier(new TileCatalog(engine));
+			try{
+				broken.read(new StringReader(b));
+				same = false;
+				System.out.println("Read a broken lattice");
+			} catch(IOException e){
+				same &= broken.getNodeCount() == 0x00;
+				System.out.println("Error: " + e.getMessage());
+			}
+		}
+		LatticeClassifier back = new LatticeClassifier(new TileCatalog(engine));
+		back.read(new StringReader("v 0 0 0\nv 2 2 0\nv 0 2 2\nl -3 -2\nl 1 -1"));
+		same &= back.getMask(0x00) == ((0x01 << CuboctahedronSymmetry.A1) | (0x01 << CuboctahedronSymmetry.G1)) &&
+				back.getMask(0x01) == (0x01 << CuboctahedronSymmetry.A3) &&
+				back.getMask(0x02) == (0x01 << CuboctahedronSymmetry.G3);
+		System.out.println("Numbering back\t" + (same ? "same" : "DIFFERENT"));
+
+		ForkJoinPool single = new ForkJoinPool(0x01);
+		LatticeClassifier twice = new LatticeClassifier(new TileCatalog(engine), single);
+		twice.read(new StringReader(obj.toString()));
+		twice.read(new StringReader(obj.toString()));
+		single.shutdown();
+		same &= twice.getNodeCount() == 0x02 * points.size() && twice.getStrutCount() == 0x02 * strutCount;
+		for(int p = 0x00; same && p < points.size(); p++)
+			same &= twice.getMask(p) == expected[p] && twice.getMask(points.size() + p) == expected[p];
+		for(int id = 0x00; id < counts.length; id++)
+			same &= twice.getCount(id) == 0x02 * counts[id];
+		System.out.println("Reading twice\t" + (same ? "same" : "DIFFERENT"));
+		if(!same) System.exit(0x01);
+	}
+}
@@ -0,0 +1,24 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+/**
+ * A MatchListener is told about every comparison a {@link SymmetryEngine} makes
+ * while testing two tiles for symmetry, matching or not. It is the hook for
+ * printing rotations or tracking orbits without any state in the engine itself.
+ * An engine may be shared between threads, so a listener given to one should be
+ * safe to call from several threads at once.
+ * @see SymmetryEngine
+ */
+public interface MatchListener{
+
+	/**
+	 * Called once for each rotation of b2 compared against b1.
+	 * @param b1 The tile held static for comparison, as a mask.
+	 * @param b2 The rotated tile, as a mask.
+	 * @param rotTrack The rotation flags describing how b2 was rotated.
+	 * @param matched Whether or not the rotated tile equals b1.
+	 */
+	public void compared(int b1, int b2, int rotTrack, boolean matched);
+}
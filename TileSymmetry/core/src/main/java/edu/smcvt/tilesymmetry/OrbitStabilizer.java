@@ -0,0 +1,266 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.util.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * An OrbitStabilizer holds the orbit and stabilizer of a single tile, as seen by
+ * applying every element of {@link SymmetryTable} to it once: the orbit is the
+ * set of tiles those elements produce, and the stabilizer is the list of elements
+ * that leave the tile where it was. These are the same numbers orbit/stabilizer
+ * tracking in {@link CuboctahedronSymmetry} reports, but computed into an
+ * immutable object with no shared state, so any number of threads can compute
+ * them at once.
+ * <p>
+ * The orbit is kept as a bitset over all 4096 masks, and the stabilizer as an
+ * array of element ids, so nothing is boxed or hashed along the way. With
+ * reflections, every element is also applied to the inverted tile; those are
+ * numbered from {@link SymmetryTable#size} up, after the plain ones.
+ * <p>
+ * Without the special case rotations the elements form a group, so the
+ * stabilizer is looked up in the {@link PolyhedralSymmetry} tables for the
+ * cuboctahedron, by conjugating the one stored for the tile's class, rather
+ * than found by trying every element. With them, they don't: the special cases
+ * only apply to some tiles, and each one that applies counts in the stabilizer
+ * on its own, even where a plain element already does the same thing, so
+ * every element is still tried.
+ * @see CuboctahedronSymmetry#enableOrbStab
+ * @see SymmetryTable#invert
+ */
+public final class OrbitStabilizer{
+
+	private static final int WORDS = Tile.COUNT >>> 0x06;
+
+	private final int tile;
+	private final boolean useExtra;
+	private final boolean useReflections;
+	private final long[] orbit;
+	private final int orbitSize;
+	private final int[] stabilizer;
+
+	/* Each shared group is built the first time this holder class is touched */
+	private static final class Exact{
+		static final PolyhedralSymmetry[] GROUPS = {	PolyhedralSymmetry.forName("cuboctahedron", false),
+														PolyhedralSymmetry.forName("cuboctahedron", true)	};
+		static final int[][] TABLE_IDS = {	tableIds(GROUPS[0x00]), tableIds(GROUPS[0x01])	};	// Indexed by group element
+	}
+
+	/**
+	 * Computes the orbit and stabilizer of a tile.
+	 * @param b The tile, as a mask.
+	 * @param extra Whether or not the special case rotations should be considered.
+	 */
+	public OrbitStabilizer(int b, boolean extra){	this(b, extra, false);	}
+
+	/**
+	 * Computes the orbit and stabilizer of a tile.
+	 * @param b The tile, as a mask.
+	 * @param extra Whether or not the special case rotations should be considered.
+	 * @param reflect Whether or not the improper rotations should be considered too.
+	 */
+	public OrbitStabilizer(int b, boolean extra, boolean reflect){	this(b, extra, reflect, !extra);	}
+
+	/**
+	 * @param exact Whether to look the stabilizer up in the group's tables,
+	 * rather than trying every element. Only without the special cases.
+	 */
+	private OrbitStabilizer(int b, boolean extra, boolean reflect, boolean exact){
+		SymmetryTable table = SymmetryTable.CUBOCTAHEDRON;
+		tile = b;
+		useExtra = extra;
+		useReflections = reflect;
+		orbit = new long[WORDS];
+		if(exact){
+			PolyhedralSymmetry group = Exact.GROUPS[reflect ? 0x01 : 0x00];
+			int[] ids = Exact.TABLE_IDS[reflect ? 0x01 : 0x00];
+			int[] stab = group.getStabilizer(b);
+			for(int i = 0x00; i < stab.length; i++)
+				stab[i] = ids[stab[i]];
+			Arrays.sort(stab);
+			for(int id = 0x00; id < group.getOrder(); id++){
+				int r = group.apply(id, b);
+				orbit[r >>> 0x06] |= 0x01L << (r & 0x3f);
+			}
+			orbitSize = group.getOrder() / stab.length;
+			stabilizer = stab;
+			return;
+		}
+		int[] stab = new int[table.size() << 0x01];
+		int stabSize = 0x00, size = 0x00;
+		for(int pass = 0x00; pass < (reflect ? 0x02 : 0x01); pass++){
+			int t = (pass == 0x00) ? b : table.invert(b);
+			for(int id = 0x00; id < table.size(); id++){
+				if(!table.appliesTo(id, t) || (!extra && table.isSpecialCase(id)))
+					continue;
+				int r = table.apply(id, t);
+				if(r == b)	stab[stabSize++] = id + pass * table.size();
+				long bit = 0x01L << (r & 0x3f);
+				if((orbit[r >>> 0x06] & bit) == 0x00){
+					orbit[r >>> 0x06] |= bit;
+					size++;
+				}
+			}
+		}
+		orbitSize = size;
+		stabilizer = Arrays.copyOf(stab, stabSize);
+	}
+
+	/* Matches each element of a group to the id, in SymmetryTable, of the plain
+	 * element doing the same to every arm, or that id plus the table's size if
+	 * the element is that one applied after the central inversion. */
+	private static int[] tableIds(PolyhedralSymmetry group){
+		SymmetryTable table = SymmetryTable.CUBOCTAHEDRON;
+		int[] ids = new int[group.getOrder()];
+		Arrays.fill(ids, -1);
+		for(int g = 0x00; g < ids.length; g++)
+			for(int pass = 0x00; pass < 0x02 && ids[g] < 0x00; pass++)
+				for(int id = 0x00; id < table.size() && ids[g] < 0x00; id++){
+					if(table.isSpecialCase(id)) continue;
+					boolean same = true;
+					for(int arm = 0x00; arm < Tile.LENGTH && same; arm++){
+						int t = (pass == 0x00) ? 0x01 << arm : table.invert(0x01 << arm);
+						same = table.apply(id, t) == group.apply(g, 0x01 << arm);
+					}
+					if(same) ids[g] = id + pass * table.size();
+				}
+		for(int g = 0x00; g < ids.length; g++)
+			if(ids[g] < 0x00) throw new IllegalStateException("no element of the table matches " + group + " element " + g);
+		return ids;
+	}
+
+	/**
+	 * @return The tile this is the orbit and stabilizer of, as a mask.
+	 */
+	public int getTile(){	return tile;	}
+
+	/**
+	 * @return Whether or not the special case rotations were considered.
+	 */
+	public boolean getUseExtra(){	return useExtra;	}
+
+	/**
+	 * @return Whether or not the improper rotations were considered.
+	 */
+	public boolean getUseReflections(){	return useReflections;	}
+
+	/**
+	 * @return The number of distinct tiles in the orbit.
+	 */
+	public int getOrbitSize(){	return orbitSize;	}
+
+	/**
+	 * @param mask Any tile, as a mask.
+	 * @return Whether or not that tile is in the orbit.
+	 */
+	public boolean inOrbit(int mask){	return inSet(orbit, mask);	}
+
+	/**
+	 * @return A copy of the orbit as a bitset: bit (m mod 64) of word (m / 64) is set
+	 * if the tile with mask m is in the orbit.
+	 */
+	public long[] getOrbit(){	return orbit.clone();	}
+
+	/**
+	 * @return The tiles in the orbit, as masks, in increasing order.
+	 */
+	public int[] getOrbitMasks(){
+		int[] masks = new int[orbitSize];
+		for(int mask = 0x00, i = 0x00; mask < Tile.COUNT; mask++)
+			if(inOrbit(mask)) masks[i++] = mask;
+		return masks;
+	}
+
+	/**
+	 * Adds the orbit to a set of tiles kept as a bitset, such as one built up
+	 * over several tiles to see which tiles were reached.
+	 * @param set A bitset over the 4096 masks, laid out like {@link #getOrbit}. Updated in place.
+	 */
+	public void addOrbitTo(long[] set){
+		for(int i = 0x00; i < WORDS; i++)
+			set[i] |= orbit[i];
+	}
+
+	/**
+	 * @return The number of elements which leave the tile unchanged.
+	 */
+	public int getStabilizerSize(){	return stabilizer.length;	}
+
+	/**
+	 * @return A copy of the ids, in {@link SymmetryTable}, of the elements which leave
+	 * the tile unchanged, in increasing order. Ids from {@link SymmetryTable#size} up
+	 * are the same elements applied after the central inversion.
+	 */
+	public int[] getStabilizer(){	return stabilizer.clone();	}
+
+	/**
+	 * Prints the result of each element applied to the tile, the same way
+	 * {@link CuboctahedronSymmetry#match} does when printing is enabled:
+	 * "Match" for an element in the stabilizer, or the rotated tile otherwise,
+	 * followed by the element's rotations.
+	 */
+	public void printRotations(){
+		SymmetryTable table = SymmetryTable.CUBOCTAHEDRON;
+		for(int pass = 0x00; pass < (useReflections ? 0x02 : 0x01); pass++){
+			int t = (pass == 0x00) ? tile : table.invert(tile);
+			int inverted = (pass == 0x00) ? 0x00 : CuboctahedronSymmetry.INVERSION;
+			for(int id = 0x00; id < table.size(); id++){
+				if(!table.appliesTo(id, t) || (!useExtra && table.isSpecialCase(id)))
+					continue;
+				int r = table.apply(id, t);
+				if(r == tile)	System.out.print("Match -\t");
+				else			System.out.print(Tile.toString(r) + "-\t");
+				CuboctahedronSymmetry.printRot(table.getRotTrack(id) | inverted);
+			}
+		}
+	}
+
+	/**
+	 * @param set A bitset over the 4096 masks, laid out like {@link #getOrbit}.
+	 * @param mask Any tile, as a mask.
+	 * @return Whether or not that tile is in the set.
+	 */
+	public static boolean inSet(long[] set, int mask){
+		return (set[mask >>> 0x06] & (0x01L << (mask & 0x3f))) != 0x00;
+	}
+
+	/**
+	 * Builds an empty bitset, sized for {@link #addOrbitTo}.
+	 * @return A bitset over the 4096 masks with nothing in it.
+	 */
+	public static long[] emptySet(){	return new long[WORDS];	}
+
+	/**
+	 * This is a test driver which checks the orbit and stabilizer looked up in
+	 * the group's tables against those found by trying every element, for every
+	 * tile, with and without reflections, and reports how long each took. It
+	 * exits with status 1 if any of them differ.
+	 * It doesn't care about args.
+	 */
+	public static void main(String args[]){
+		boolean same = true;
+		new OrbitStabilizer(0x00, false);	// Builds the groups, which shouldn't be timed
+		for(boolean reflect : new boolean[]{ false, true }){
+			OrbitStabilizer[] looked = new OrbitStabilizer[Tile.COUNT];
+			long start = System.nanoTime();
+			for(int mask = 0x00; mask < Tile.COUNT; mask++)
+				looked[mask] = new OrbitStabilizer(mask, false, reflect);
+			long lookup = System.nanoTime() - start;
+			start = System.nanoTime();
+			boolean pass = true;
+			for(int mask = 0x00; mask < Tile.COUNT; mask++){
+				OrbitStabilizer walked = new OrbitStabilizer(mask, false, reflect, false);
+				pass &= looked[mask].getOrbitSize() == walked.getOrbitSize() &&
+						Arrays.equals(looked[mask].getOrbit(), walked.getOrbit()) &&
+						Arrays.equals(looked[mask].getStabilizer(), walked.getStabilizer());
+			}
+			long walk = System.nanoTime() - start;
+			System.out.println("Reflections: " + reflect + "\t" + (lookup / 1000) + " us from the tables, " +
+							   (walk / 1000) + " us trying every element\t" + (pass ? "same" : "DIFFERENT"));
+			same &= pass;
+		}
+		if(!same) System.exit(0x01);
+	}
+}
@@ -0,0 +1,222 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.util.*;
+import java.util.concurrent.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * A ParallelEnumerator finds the lex-minimal tiles for every arm count from 0
+ * to 12 in one go, spreading the work over a {@link ForkJoinPool}. The results
+ * are the same lists, in the same order, that {@link Combo} builds one arm
+ * count at a time, however many threads the pool has.
+ * <p>
+ * By orbit, the 4096 tiles are split into ranges in lexicographic order, and
+ * each range decides for itself which of its tiles are lex-minimal in their
+ * orbits. By angle grouping, every grouping of every arm count is reduced
+ * as its own task, so a full sweep takes about as long as the largest grouping
+ * rather than the sum of them all.
+ * @see Combo
+ */
+public final class ParallelEnumerator{
+
+	private static final int THRESHOLD = 0x40;	// Tiles per range before we stop splitting
+
+	private final SymmetryEngine engine;
+	private final ForkJoinPool pool;
+
+	/**
+	 * Instantiates a ParallelEnumerator which runs in the common pool.
+	 * @param e The engine used to test tiles for symmetry.
+	 */
+	public ParallelEnumerator(SymmetryEngine e){	this(e, ForkJoinPool.commonPool());	}
+
+	/**
+	 * @param e The engine used to test tiles for symmetry.
+	 * @param p The pool to run in.
+	 */
+	public ParallelEnumerator(SymmetryEngine e, ForkJoinPool p){
+		engine = e;
+		pool = p;
+	}
+
+	/**
+	 * @return The engine used to test tiles for symmetry.
+	 */
+	public SymmetryEngine getEngine(){	return engine;	}
+
+	/**
+	 * Finds the lex-minimal tiles for every arm count.
+	 * @param byOrbit Whether to reduce the tiles by orbit, as {@link Combo#removeCopiesByOrbit}
+	 * does, rather than by angle grouping, as {@link Combo#removeCopies} does.
+	 * @return The lex-minimal tiles, indexed by number of arms, each list in the
+	 * order {@link Combo} would give for that number of arms.
+	 */
+	public List<LinkedList<Tile>> enumerateAll(boolean byOrbit){
+		if(byOrbit){
+			boolean[] isRep = new boolean[Tile.COUNT];
+			pool.invoke(new OrbitRange(engine, isRep, 0x00, Tile.COUNT));
+
+			/* Gather the representatives up in lex order, which is the
+			 * order removeCopiesByOrbit leaves them in. */
+			List<LinkedList<Tile>> ret = new ArrayList<LinkedList<Tile>>();
+			for(int n = 0x00; n <= Tile.LENGTH; n++)
+				ret.add(new LinkedList<Tile>());
+			for(int key = 0x00; key < Tile.COUNT; key++){
+				if(!isRep[key]) continue;
+				int mask = Tile.lexKey(key);
+				ret.get(Integer.bitCount(mask)).addLast(new Tile(mask));
+			}
+			return ret;
+		} else{
+			List<ArmCount> tasks = new ArrayList<ArmCount>();
+			for(int n = 0x00; n <= Tile.LENGTH; n++)
+				tasks.add(new ArmCount(engine, n));
+			for(ArmCount task : tasks)
+				pool.execute(task);
+
+			List<LinkedList<Tile>> ret = new ArrayList<LinkedList<Tile>>();
+			for(ArmCount task : tasks)
+				ret.add(task.join());
+			return ret;
+		}
+	}
+
+	/**
+	 * Finds the lex-minimal tiles for a single arm count.
+	 * @param n The number of arms per tile.
+	 * @param byOrbit Whether to reduce the tiles by orbit rather than by angle grouping.
+	 * @return The lex-minimal n-armed tiles, in the order {@link Combo} would give.
+	 */
+	public LinkedList<Tile> enumerate(int n, boolean byOrbit){
+		if(byOrbit)	return enumerateAll(true).get(n);
+		return pool.invoke(new ArmCount(engine, n));
+	}
+
+	/**
+	 * Marks which tiles in a range of lex keys are lex-minimal in their orbits.
+	 * Each orbit is walked once per range, from the first of its tiles in the
+	 * range, and decides all of its tiles in the range at once.
+	 * Each range only ever writes its own entries of isRep, and the results are
+	 * only read once the whole tree has been joined.
+	 */
+	private static final class OrbitRange extends RecursiveAction{
+		private static final long serialVersionUID = 0x01L;
+
+		private final SymmetryEngine engine;
+		private final boolean[] isRep;	// Indexed by lex key
+		private final int from, to;
+
+		OrbitRange(SymmetryEngine e, boolean[] r, int f, int t){
+			engine = e;
+			isRep = r;
+			from = f;
+			to = t;
+		}
+
+		protected void compute(){
+			if(to - from > THRESHOLD){
+				int mid = (from + to) >>> 0x01;
+				invokeAll(new OrbitRange(engine, isRep, from, mid),
+						  new OrbitRange(engine, isRep, mid, to));
+				return;
+			}
+			SymmetryTable table = SymmetryTable.CUBOCTAHEDRON;
+			boolean[] seen = new boolean[Tile.COUNT];
+			int[] orbit = new int[Tile.COUNT];
+			for(int key = from; key < to; key++){
+				if(seen[Tile.lexKey(key)]) continue;	// Decided with an earlier tile of its orbit
+				int size = table.walkOrbit(Tile.lexKey(key), engine.getUseExtra(),
+										   engine.getUseReflections(), seen, orbit);
+				int min = key;
+				for(int i = 0x00; i < size; i++)
+					min = Math.min(min, Tile.lexKey(orbit[i]));
+				for(int i = 0x00; i < size; i++){
+					int k = Tile.lexKey(orbit[i]);
+					if(k >= from && k < to) isRep[k] = (k == min);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Lists the tiles with one number of arms, groups them by angles,
+	 * and reduces every grouping as a task of its own.
+	 */
+	private static final class ArmCount extends RecursiveTask<LinkedList<Tile>>{
+		private static final long serialVersionUID = 0x01L;
+
+		private final SymmetryEngine engine;
+		private final int n;
+
+		ArmCount(SymmetryEngine e, int arms){
+			engine = e;
+			n = arms;
+		}
+
+		protected LinkedList<Tile> compute(){
+			CuboctahedronLUT grouper = new CuboctahedronLUT();
+			for(Tile tile : new Combo(n, engine).getTiles())
+				grouper.computeAngles(tile);
+
+			/* The groupings are joined in the order they were first seen,
+			 * which is what removeCopies concatenates them in. */
+			List<Grouping> tasks = new ArrayList<Grouping>();
+			for(LinkedHashSet<Tile> g : grouper.getResultantGroupings().values())
+				tasks.add(new Grouping(engine, g));
+			invokeAll(tasks);
+
+			LinkedList<Tile> shrunk = new LinkedList<Tile>();
+			for(Grouping task : tasks)
+				shrunk.addAll(task.join());
+			return shrunk;
+		}
+	}
+
+	/**
+	 * Reduces a single angle grouping with {@link Combo#removeCopies(LinkedHashSet, SymmetryEngine)}.
+	 */
+	private static final class Grouping extends RecursiveTask<LinkedList<Tile>>{
+		private static final long serialVersionUID = 0x01L;
+
+		private final SymmetryEngine engine;
+		private final LinkedHashSet<Tile> grouping;
+
+		Grouping(SymmetryEngine e, LinkedHashSet<Tile> g){
+			engine = e;
+			grouping = g;
+		}
+
+		protected LinkedList<Tile> compute(){	return Combo.removeCopies(grouping, engine);	}
+	}
+
+	/**
+	 * This is a test driver which checks every arm count against {@link Combo},
+	 * both by orbit and by angle grouping, and reports how long each took.
+	 * It exits with status 1 if any of the results differ.
+	 * It doesn't care about args.
+	 */
+	public static void main(String args[]){
+		ParallelEnumerator pe = new ParallelEnumerator(SymmetryEngine.DEFAULT);
+		boolean allSame = true;
+		for(int pass = 0x00; pass < 0x02; pass++){
+			boolean byOrbit = (pass == 0x00);
+			long start = System.nanoTime();
+			List<LinkedList<Tile>> all = pe.enumerateAll(byOrbit);
+			long parallel = System.nanoTime() - start;
+			start = System.nanoTime();
+			boolean same = true;
+			for(int n = 0x00; n <= Tile.LENGTH; n++)
+				same &= all.get(n).equals(new Combo(n, byOrbit, pe.getEngine()).getTiles());
+			long sequential = System.nanoTime() - start;
+			System.out.println((byOrbit ? "By orbit:\t" : "By grouping:\t") +
+							   (same ? "same" : "DIFFERENT") + "\t" +
+							   (parallel / 1000000) + " ms parallel, " +
+							   (sequential / 1000000) + " ms sequential");
+			allSame &= same;
+		}
+		if(!allSame) System.exit(0x01);
+	}
+}
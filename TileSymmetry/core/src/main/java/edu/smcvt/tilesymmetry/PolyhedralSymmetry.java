@@ -0,0 +1,698 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.util.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * A PolyhedralSymmetry does for any node geometry what {@link SymmetryTable} and
+ * {@link CanonicalTable} do for the cuboctahedron, without any rotation code
+ * written for it by hand. A geometry is given by its arms, as a vertex set (or
+ * just which arms are adjacent), and a few generator permutations of those arms.
+ * The generators are closed into the whole rotation group by {@link GroupClosure},
+ * and every tile is then mapped to its lex-minimal representative and class id,
+ * with its orbit and stabilizer available on demand.
+ * <p>
+ * Arm i is bit i of a mask and tiles are ordered lexicographically, both as
+ * with {@link Tile}, and classes are numbered the same way {@link CanonicalTable}
+ * numbers them. So the built-in {@link #CUBOCTAHEDRON} has exactly the classes
+ * of CanonicalTable without the special case rotations, which aren't rotations
+ * of the cuboctahedron and have no place in a group. Geometries of up to 16
+ * arms are supported.
+ * <p>
+ * Each class is also split into the cosets of its representative's stabilizer,
+ * one for each tile in it, so the elements taking the representative to any
+ * tile, and the stabilizer of any tile, come from table lookups in the group's
+ * multiplication table rather than trying every element.
+ * <p>
+ * Each built-in geometry also comes with reflections, where the central
+ * inversion is added to the generators so that a tile and its mirror image
+ * are in the same class; see {@link #forName(String, boolean)}.
+ * @see SymmetryTable
+ */
+public final class PolyhedralSymmetry{
+
+	private static final int MAX_ARMS = 0x10;
+	private static final int CHUNK = 0x06;			// Bits per lookup table
+	private static final int CHUNK_MASK = 0x3f;
+
+	/* Rotations of space, as integer matrices acting on column vectors */
+	private static final int[][] QUARTER_TURN = {{ 0,-1, 0 },	// 90 degrees around z
+												 { 1, 0, 0 },
+												 { 0, 0, 1 }};
+	private static final int[][] THIRD_TURN = {{ 0, 0, 1 },		// 120 degrees around (1, 1, 1)
+											   { 1, 0, 0 },
+											   { 0, 1, 0 }};
+	private static final int[][] INVERSION = {{-1, 0, 0 },
+											  { 0,-1, 0 },
+											  { 0, 0,-1 }};
+
+	private static final int[][] OCTAHEDRON_ARMS = {{ 1, 0, 0 }, {-1, 0, 0 },
+													{ 0, 1, 0 }, { 0,-1, 0 },
+													{ 0, 0, 1 }, { 0, 0,-1 }};
+
+	private static final int[][] CUBE_ARMS = {{ 1, 1, 1 }, { 1, 1,-1 }, { 1,-1, 1 }, { 1,-1,-1 },
+											  {-1, 1, 1 }, {-1, 1,-1 }, {-1,-1, 1 }, {-1,-1,-1 }};
+
+	/* In arm order: the alpha square lies in z = 0, beta in y = 0, and gamma in x = 0 */
+	private static final int[][] CUBOCTAHEDRON_ARMS = {{ 1, 1, 0 }, {-1, 1, 0 }, {-1,-1, 0 }, { 1,-1, 0 },
+													   { 1, 0, 1 }, { 1, 0,-1 }, {-1, 0,-1 }, {-1, 0, 1 },
+													   { 0, 1, 1 }, { 0, 1,-1 }, { 0,-1,-1 }, { 0,-1, 1 }};
+
+	/**
+	 * The 6-armed node of a simple cubic lattice, pointing at the vertices of an octahedron.
+	 */
+	public static final PolyhedralSymmetry OCTAHEDRON = builtIn("octahedron",
+		new String[]{ "+X", "-X", "+Y", "-Y", "+Z", "-Z" }, OCTAHEDRON_ARMS, false);
+
+	/**
+	 * The 8-armed node pointing at the vertices of a cube.
+	 */
+	public static final PolyhedralSymmetry CUBE = builtIn("cube",
+		new String[]{ "+X+Y+Z", "+X+Y-Z", "+X-Y+Z", "+X-Y-Z", "-X+Y+Z", "-X+Y-Z", "-X-Y+Z", "-X-Y-Z" },
+		CUBE_ARMS, false);
+
+	/**
+	 * The 12-armed octet truss node, with its arms numbered and named as in {@link Tile}.
+	 */
+	public static final PolyhedralSymmetry CUBOCTAHEDRON = builtIn("cuboctahedron",
+		armNames(), CUBOCTAHEDRON_ARMS, false);
+
+	/**
+	 * The 14-armed node of a body-centered cubic lattice, pointing at the vertices of a
+	 * rhombic dodecahedron: the 6 arms of {@link #OCTAHEDRON} followed by the 8 of {@link #CUBE}.
+	 */
+	public static final PolyhedralSymmetry RHOMBIC_DODECAHEDRON = builtIn("rhombic-dodecahedron",
+		concat(OCTAHEDRON.names, CUBE.names), concat(scale(OCTAHEDRON_ARMS, 0x02), CUBE_ARMS), false);
+
+	private static final PolyhedralSymmetry[] BUILT_INS = { OCTAHEDRON, CUBE, CUBOCTAHEDRON,
+															RHOMBIC_DODECAHEDRON };
+
+	/* The same geometries, with reflections */
+	private static final PolyhedralSymmetry[] REFLECTED = new PolyhedralSymmetry[BUILT_INS.length];
+
+	static{
+		for(int i = 0x00; i < BUILT_INS.length; i++)
+			REFLECTED[i] = builtIn(BUILT_INS[i].name, BUILT_INS[i].names, BUILT_INS[i].vertices, true);
+	}
+
+	private final String name;
+	private final String[] names;
+	private final int[][] vertices;					// Null if only adjacency was given
+	private final int arms;
+	private final int maskCount;
+	private final int chunks;
+	private final GroupClosure group;
+	private final int order;
+	private final int[] lookups;					// Indexed by (id * chunks + chunk) * 64 + bits
+	private final int[] representatives;			// Indexed by mask
+	private final int[] classIds;					// Indexed by mask
+	private final int[] classReps;					// Indexed by class id
+	private final int[] firstClass;					// Indexed by arm count
+	private final int[] transversal;				// Indexed by mask: first element from its representative
+	private final int[][] stabilizers;				// Indexed by class id: its representative's
+
+	/**
+	 * Builds the symmetry of a geometry given by coordinates. Each generator
+	 * must keep the angle and distance between every pair of arms the same.
+	 * @param name What the geometry is called.
+	 * @param armNames The name of each arm, or null to name them by number.
+	 * @param vertices The coordinates of the end of each arm, from the center of the node.
+	 * @param generators Permutations of the arms: entry i of each is the arm that arm i is moved to.
+	 * @throws IllegalArgumentException If a generator isn't a permutation of the arms, or
+	 * doesn't preserve the geometry, or the group is too large.
+	 * @see #permutation
+	 */
+	public PolyhedralSymmetry(String name, String[] armNames, int[][] vertices, int[][] generators){
+		this(name, armNames, vertices, dots(vertices), generators);
+	}
+
+	/**
+	 * Builds the symmetry of a geometry given only by which arms are adjacent to
+	 * which. Each generator must keep adjacent arms adjacent.
+	 * @param name What the geometry is called.
+	 * @param armNames The name of each arm, or null to name them by number.
+	 * @param adjacent Whether or not each pair of arms is adjacent.
+	 * @param generators Permutations of the arms: entry i of each is the arm that arm i is moved to.
+	 * @throws IllegalArgumentException If a generator isn't a permutation of the arms, or
+	 * doesn't preserve adjacency, or the group is too large.
+	 */
+	public PolyhedralSymmetry(String name, String[] armNames, boolean[][] adjacent, int[][] generators){
+		this(name, armNames, null, adjacency(adjacent), generators);
+	}
+
+	/**
+	 * @param relation Some relation between each pair of arms, which the generators have to preserve.
+	 */
+	private PolyhedralSymmetry(String n, String[] armNames, int[][] v, long[][] relation, int[][] generators){
+		arms = relation.length;
+		if(arms == 0x00 || arms > MAX_ARMS)
+			throw new IllegalArgumentException("a geometry must have from 1 to " + MAX_ARMS + " arms");
+		if(armNames != null && armNames.length != arms)
+			throw new IllegalArgumentException("there must be one name per arm");
+		for(int g = 0x00; g < generators.length; g++)
+			validate(g, generators[g], relation);
+
+		name = n;
+		vertices = v;
+		names = new String[arms];
+		for(int arm = 0x00; arm < arms; arm++)
+			names[arm] = (armNames != null) ? armNames[arm] : Integer.toString(arm);
+		maskCount = 0x01 << arms;
+		chunks = (arms + CHUNK - 0x01) / CHUNK;
+		group = new GroupClosure(generators);
+		order = group.getOrder();
+		lookups = new int[(order * chunks) << CHUNK];
+		for(int id = 0x00; id < order; id++)
+			fillLookups(id, group.getPermutation(id));
+
+		representatives = new int[maskCount];
+		classIds = new int[maskCount];
+		firstClass = new int[arms + 0x02];
+
+		/* Every element applied to a tile gives its whole orbit, since the group is closed */
+		boolean[] seen = new boolean[maskCount];
+		int[] orbit = new int[order];
+		int[] counts = new int[arms + 0x01];
+		for(int mask = 0x00; mask < maskCount; mask++){
+			if(seen[mask]) continue;
+			int size = 0x00, min = mask;
+			for(int id = 0x00; id < order; id++){
+				int r = apply(id, mask);
+				if(seen[r]) continue;
+				seen[r] = true;
+				orbit[size++] = r;
+				if(lexKey(r) < lexKey(min)) min = r;
+			}
+			for(int i = 0x00; i < size; i++)
+				representatives[orbit[i]] = min;
+			counts[Integer.bitCount(mask)]++;
+		}
+
+		/* Number the classes by arm count, then by representative. */
+		for(int k = 0x00; k <= arms; k++)
+			firstClass[k + 0x01] = firstClass[k] + counts[k];
+		classReps = new int[firstClass[arms + 0x01]];
+		int[] next = firstClass.clone();
+		for(int key = 0x00; key < maskCount; key++){
+			int mask = lexKey(key);		// lexKey is its own inverse, so this visits in lex order
+			if(representatives[mask] == mask)
+				classReps[next[Integer.bitCount(mask)]++] = mask;
+		}
+		for(int id = 0x00; id < classReps.length; id++)
+			classIds[classReps[id]] = id;
+		for(int mask = 0x00; mask < maskCount; mask++)
+			classIds[mask] = classIds[representatives[mask]];
+
+		/* The elements taking a representative to each tile in its class make a
+		 * coset of its stabilizer; keep the first of each to stand for the lot. */
+		transversal = new int[maskCount];
+		stabilizers = new int[classReps.length][];
+		Arrays.fill(transversal, -1);
+		int[] stab = new int[order];
+		for(int id = 0x00; id < classReps.length; id++){
+			int rep = classReps[id], size = 0x00;
+			for(int g = 0x00; g < order; g++){
+				int r = apply(g, rep);
+				if(r == rep) stab[size++] = g;
+				if(transversal[r] < 0x00) transversal[r] = g;
+			}
+			stabilizers[id] = Arrays.copyOf(stab, size);
+		}
+	}
+
+	private static PolyhedralSymmetry builtIn(String name, String[] armNames, int[][] vertices,
+											  boolean reflect){
+		int[][] gens = { permutation(vertices, QUARTER_TURN), permutation(vertices, THIRD_TURN) };
+		if(reflect) gens = concat(gens, new int[][]{ permutation(vertices, INVERSION) });
+		return new PolyhedralSymmetry(name, armNames, vertices, gens);
+	}
+
+	private static long[][] dots(int[][] vertices){
+		long[][] dots = new long[vertices.length][vertices.length];
+		for(int i = 0x00; i < vertices.length; i++)
+			for(int j = 0x00; j < vertices.length; j++){
+				if(vertices[j].length != vertices[i].length)
+					throw new IllegalArgumentException("every vertex must have the same dimension");
+				for(int k = 0x00; k < vertices[i].length; k++)
+					dots[i][j] += (long)vertices[i][k] * vertices[j][k];
+			}
+		return dots;
+	}
+
+	private static long[][] adjacency(boolean[][] adjacent){
+		long[][] relation = new long[adjacent.length][adjacent.length];
+		for(int i = 0x00; i < adjacent.length; i++){
+			if(adjacent[i].length != adjacent.length)
+				throw new IllegalArgumentException("adjacency must be given for every pair of arms");
+			for(int j = 0x00; j < adjacent.length; j++)
+				relation[i][j] = adjacent[i][j] ? 0x01 : 0x00;
+		}
+		return relation;
+	}
+
+	private static void validate(int g, int[] gen, long[][] relation){
+		int n = relation.length, used = 0x00;
+		if(gen.length != n)
+			throw new IllegalArgumentException("generator " + g + " doesn't move " + n + " arms");
+		for(int arm = 0x00; arm < n; arm++){
+			if(gen[arm] < 0x00 || gen[arm] >= n || (used & (0x01 << gen[arm])) != 0x00)
+				throw new IllegalArgumentException("generator " + g + " isn't a permutation of the arms");
+			used |= 0x01 << gen[arm];
+		}
+		for(int i = 0x00; i < n; i++)
+			for(int j = 0x00; j < n; j++)
+				if(relation[gen[i]][gen[j]] != relation[i][j])
+					throw new IllegalArgumentException("generator " + g + " doesn't preserve the geometry " +
+													   "(arms " + i + " and " + j + ")");
+	}
+
+	/**
+	 * Finds the permutation of the arms a linear map of space makes, such as a rotation.
+	 * @param vertices The coordinates of the end of each arm.
+	 * @param matrix The map, as a matrix acting on column vectors.
+	 * @return Entry i is the arm that arm i is moved to.
+	 * @throws IllegalArgumentException If the map doesn't take every arm onto an arm.
+	 */
+	public static int[] permutation(int[][] vertices, int[][] matrix){
+		int[] perm = new int[vertices.length];
+		for(int i = 0x00; i < vertices.length; i++){
+			int[] image = new int[matrix.length];
+			for(int r = 0x00; r < matrix.length; r++)
+				for(int c = 0x00; c < vertices[i].length; c++)
+					image[r] += matrix[r][c] * vertices[i][c];
+			perm[i] = -1;
+			for(int j = 0x00; j < vertices.length && perm[i] < 0x00; j++)
+				if(Arrays.equals(image, vertices[j])) perm[i] = j;
+			if(perm[i] < 0x00)
+				throw new IllegalArgumentException("arm " + i + " isn't moved onto an arm");
+		}
+		return perm;
+	}
+
+	private void fillLookups(int id, int[] perm){
+		for(int c = 0x00; c < chunks; c++){
+			int base = (id * chunks + c) << CHUNK;
+			for(int m = 0x00; m <= CHUNK_MASK; m++){
+				int image = 0x00;
+				for(int bit = 0x00; bit < CHUNK; bit++){
+					int arm = c * CHUNK + bit;
+					if((m & (0x01 << bit)) != 0x00 && arm < arms)
+						image |= 0x01 << perm[arm];
+				}
+				lookups[base + m] = image;
+			}
+		}
+	}
+
+	/**
+	 * Looks up a built-in geometry.
+	 * @param name The name of the geometry, in any case: "octahedron", "cube",
+	 * "cuboctahedron", or "rhombic-dodecahedron".
+	 * @return The geometry, or null if there isn't one by that name.
+	 */
+	public static PolyhedralSymmetry forName(String name){	return forName(name, false);	}
+
+	/**
+	 * Looks up a built-in geometry.
+	 * @param name The name of the geometry, as for {@link #forName(String)}.
+	 * @param reflect Whether or not mirror images should be counted as the same tile.
+	 * @return The geometry, or null if there isn't one by that name.
+	 */
+	public static PolyhedralSymmetry forName(String name, boolean reflect){
+		for(int i = 0x00; i < BUILT_INS.length; i++)
+			if(BUILT_INS[i].name.equalsIgnoreCase(name)) return reflect ? REFLECTED[i] : BUILT_INS[i];
+		return null;
+	}
+
+	/**
+	 * @return What the geometry is called.
+	 */
+	public String getName(){	return name;	}
+
+	/**
+	 * @return The number of arms.
+	 */
+	public int getArmCount(){	return arms;	}
+
+	/**
+	 * @return The number of possible tiles, one for each mask.
+	 */
+	public int getMaskCount(){	return maskCount;	}
+
+	/**
+	 * @param arm An arm number.
+	 * @return The arm's name.
+	 */
+	public String getArmName(int arm){	return names[arm];	}
+
+	/**
+	 * @param arm An arm number.
+	 * @return A copy of the coordinates of the end of the arm, or null if the
+	 * geometry was only given by adjacency.
+	 */
+	public int[] getVertex(int arm){	return (vertices != null) ? vertices[arm].clone() : null;	}
+
+	/**
+	 * @return The number of elements in the group, including any reflections.
+	 */
+	public int getOrder(){	return order;	}
+
+	/**
+	 * @param id The element number, from 0 (the identity) to {@link #getOrder} - 1.
+	 * @return A copy of the element as a permutation: entry i is the arm that arm i is moved to.
+	 */
+	public int[] getPermutation(int id){	return group.getPermutation(id);	}
+
+	/**
+	 * @param perm A permutation of the arms.
+	 * @return The number of the element making that permutation, or -1 if it isn't in the group.
+	 */
+	public int getElementId(int[] perm){	return group.indexOf(perm);	}
+
+	/**
+	 * Composes two elements by looking them up in the group's multiplication table.
+	 * @param a The element applied first.
+	 * @param b The element applied second.
+	 * @return The element which does a, then b.
+	 */
+	public int multiply(int a, int b){	return group.multiply(a, b);	}
+
+	/**
+	 * @param id An element number.
+	 * @return The element which undoes it.
+	 */
+	public int inverse(int id){	return group.inverse(id);	}
+
+	/**
+	 * Applies an element to a tile.
+	 * @param id The element number.
+	 * @param b The tile to be rotated, as a mask.
+	 * @return b, rotated by the element.
+	 */
+	public int apply(int id, int b){
+		int base = id * chunks << CHUNK, r = 0x00;
+		for(int c = 0x00; c < chunks; c++, b >>>= CHUNK)
+			r |= lookups[base + (c << CHUNK) + (b & CHUNK_MASK)];
+		return r;
+	}
+
+	/**
+	 * Maps a mask to a key which orders tiles lexicographically, the same way
+	 * {@link Tile#lexKey} does for the cuboctahedron. The mapping is its own inverse.
+	 * @param mask Any tile, as a mask.
+	 * @return The tile's key.
+	 */
+	public int lexKey(int mask){	return ~(Integer.reverse(mask) >>> (Integer.SIZE - arms)) & (maskCount - 0x01);	}
+
+	/**
+	 * @param mask Any tile, as a mask.
+	 * @return The lex-minimal tile it is rotationally symmetric to, as a mask.
+	 */
+	public int getRepresentative(int mask){	return representatives[mask];	}
+
+	/**
+	 * @param mask Any tile, as a mask.
+	 * @return The id of its tile class.
+	 */
+	public int getClassId(int mask){	return classIds[mask];	}
+
+	/**
+	 * @param classId A class id.
+	 * @return The lex-minimal tile of that class, as a mask.
+	 */
+	public int getClassRepresentative(int classId){	return classReps[classId];	}
+
+	/**
+	 * @return The number of tile classes, over all arm counts.
+	 */
+	public int getClassCount(){	return classReps.length;	}
+
+	/**
+	 * @param n The number of arms per tile.
+	 * @return The number of tile classes with n arms.
+	 */
+	public int getClassCount(int n){	return firstClass[n + 0x01] - firstClass[n];	}
+
+	/**
+	 * @param n The number of arms per tile, up to one more than the number of arms.
+	 * @return The id of the first tile class with n arms.
+	 */
+	public int getFirstClass(int n){	return firstClass[n];	}
+
+	/**
+	 * @param b1 The first tile, as a mask.
+	 * @param b2 The second tile, as a mask.
+	 * @return Whether or not some rotation takes b1 to b2.
+	 */
+	public boolean areSymmetric(int b1, int b2){	return classIds[b1] == classIds[b2];	}
+
+	/**
+	 * @param mask Any tile, as a mask.
+	 * @return The tiles it can be rotated to, as masks, in increasing order.
+	 */
+	public int[] getOrbit(int mask){
+		int[] images = new int[order];
+		for(int id = 0x00; id < order; id++)
+			images[id] = apply(id, mask);
+		Arrays.sort(images);
+		int size = 0x00;
+		for(int i = 0x00; i < images.length; i++)
+			if(i == 0x00 || images[i] != images[i - 0x01]) images[size++] = images[i];
+		return Arrays.copyOf(images, size);
+	}
+
+	/**
+	 * @param mask Any tile, as a mask.
+	 * @return The number of tiles it can be rotated to.
+	 */
+	public int getOrbitSize(int mask){	return order / getStabilizerSize(mask);	}
+
+	/**
+	 * Finds the stabilizer of a tile by conjugating its representative's: if g
+	 * takes the representative to the tile, the tile is left unchanged by
+	 * exactly the elements undoing g, then leaving the representative, then doing g.
+	 * @param mask Any tile, as a mask.
+	 * @return The ids of the elements which leave the tile unchanged, in increasing order.
+	 */
+	public int[] getStabilizer(int mask){
+		int[] classStab = stabilizers[classIds[mask]];
+		int g = transversal[mask], undo = inverse(g);
+		int[] stab = new int[classStab.length];
+		for(int i = 0x00; i < stab.length; i++)
+			stab[i] = multiply(multiply(undo, classStab[i]), g);
+		Arrays.sort(stab);
+		return stab;
+	}
+
+	/**
+	 * @param mask Any tile, as a mask.
+	 * @return The number of elements which leave the tile unchanged.
+	 */
+	public int getStabilizerSize(int mask){	return stabilizers[classIds[mask]].length;	}
+
+	/**
+	 * @param mask Any tile, as a mask.
+	 * @return The first element taking the tile's representative to the tile,
+	 * which stands for the tile's coset in {@link #getCoset}.
+	 */
+	public int getCosetRepresentative(int mask){	return transversal[mask];	}
+
+	/**
+	 * Finds every element taking a tile's representative to the tile: the coset
+	 * of the representative's stabilizer standing for the tile. The cosets of
+	 * the tiles in one class split the group between them.
+	 * @param mask Any tile, as a mask.
+	 * @return The ids of the elements, in increasing order.
+	 */
+	public int[] getCoset(int mask){
+		int[] classStab = stabilizers[classIds[mask]];
+		int[] coset = new int[classStab.length];
+		for(int i = 0x00; i < coset.length; i++)
+			coset[i] = multiply(classStab[i], transversal[mask]);
+		Arrays.sort(coset);
+		return coset;
+	}
+
+	/**
+	 * @param mask Any tile, as a mask.
+	 * @return An element turning the tile into its representative.
+	 */
+	public int getOrientation(int mask){	return inverse(transversal[mask]);	}
+
+	/**
+	 * @param mask Any tile, as a mask.
+	 * @return The names of its arms, separated by commas, e.g. "+X, -Z".
+	 */
+	public String toString(int mask){
+		StringBuilder sb = new StringBuilder();
+		for(int arm = 0x00; arm < arms; arm++){
+			if((mask & (0x01 << arm)) == 0x00) continue;
+			if(sb.length() != 0x00) sb.append(", ");
+			sb.append(names[arm]);
+		}
+		return sb.toString();
+	}
+
+	public String toString(){	return name + " (" + arms + " arms, " + order + " symmetries)";	}
+
+	private static String[] armNames(){
+		String[] names = new String[Tile.LENGTH];
+		for(int arm = 0x00; arm < Tile.LENGTH; arm++)
+			names[arm] = Tile.armName(arm);
+		return names;
+	}
+
+	private static String[] concat(String[] a, String[] b){
+		String[] c = Arrays.copyOf(a, a.length + b.length);
+		System.arraycopy(b, 0x00, c, a.length, b.length);
+		return c;
+	}
+
+	private static int[][] concat(int[][] a, int[][] b){
+		int[][] c = Arrays.copyOf(a, a.length + b.length);
+		System.arraycopy(b, 0x00, c, a.length, b.length);
+		return c;
+	}
+
+	private static int[][] scale(int[][] vertices, int s){
+		int[][] scaled = new int[vertices.length][];
+		for(int i = 0x00; i < vertices.length; i++){
+			scaled[i] = vertices[i].clone();
+			for(int k = 0x00; k < scaled[i].length; k++)
+				scaled[i][k] *= s;
+		}
+		return scaled;
+	}
+
+	/**
+	 * Counts the n-armed classes for every n by Burnside's lemma, as
+	 * {@link BurnsideCounter} does, for checking against the classes found.
+	 */
+	private long[] burnside(){
+		long[] total = new long[arms + 0x01];
+		for(int id = 0x00; id < order; id++){
+			int[] perm = group.getPermutation(id);
+			long[] poly = new long[arms + 0x01];
+			poly[0] = 0x01;
+			boolean[] done = new boolean[arms];
+			for(int start = 0x00; start < arms; start++){
+				int length = 0x00;
+				for(int i = start; !done[i]; i = perm[i]){
+					done[i] = true;
+					length++;
+				}
+				for(int n = arms; n >= length && length > 0x00; n--)
+					poly[n] += poly[n - length];
+			}
+			for(int n = 0x00; n <= arms; n++)
+				total[n] += poly[n];
+		}
+		for(int n = 0x00; n <= arms; n++)
+			total[n] /= order;
+		return total;
+	}
+
+	/**
+	 * Checks the multiplication table and inverses against applying elements
+	 * one after another, and the stabilizers and cosets of every tile against
+	 * trying every element on it.
+	 */
+	private boolean checkAlgebra(){
+		boolean same = true;
+		for(int a = 0x00; a < order; a++){
+			same &= multiply(a, inverse(a)) == 0x00 && multiply(0x00, a) == a;
+			for(int b = 0x00; b < order; b++)
+				for(int arm = 0x00; arm < arms; arm++)
+					same &= apply(multiply(a, b), 0x01 << arm) == apply(b, apply(a, 0x01 << arm));
+		}
+		for(int mask = 0x00; mask < maskCount; mask++){
+			int rep = representatives[mask];
+			int[] stab = new int[order], coset = new int[order];
+			int stabSize = 0x00, cosetSize = 0x00;
+			for(int g = 0x00; g < order; g++){
+				if(apply(g, mask) == mask) stab[stabSize++] = g;
+				if(apply(g, rep) == mask) coset[cosetSize++] = g;
+			}
+			same &= Arrays.equals(Arrays.copyOf(stab, stabSize), getStabilizer(mask)) &&
+					Arrays.equals(Arrays.copyOf(coset, cosetSize), getCoset(mask)) &&
+					getCoset(mask)[0x00] == getCosetRepresentative(mask) &&
+					apply(getOrientation(mask), mask) == rep;
+		}
+		return same;
+	}
+
+	/**
+	 * This is a test driver which checks every built-in geometry's classes, with
+	 * and without reflections, against Burnside's lemma and the orbit-stabilizer
+	 * theorem, that their orbits cover every tile, and that the multiplication
+	 * table, stabilizers, and cosets agree with applying every element. It also checks the
+	 * cuboctahedron against {@link SymmetryTable}, {@link CuboctahedronLUT}, and
+	 * {@link CanonicalTable}, exiting with status 1 if any of them differ.
+	 * It doesn't care about args.
+	 */
+	public static void main(String args[]){
+		boolean allSame = true;
+		for(PolyhedralSymmetry[] set : new PolyhedralSymmetry[][]{ BUILT_INS, REFLECTED })
+		for(PolyhedralSymmetry ps : set){
+			boolean same = true;
+			long[] counts = ps.burnside();
+			long tiles = 0x00;
+			for(int n = 0x00; n <= ps.arms; n++){
+				same &= counts[n] == ps.getClassCount(n);
+				for(int id = ps.getFirstClass(n); id < ps.getFirstClass(n + 0x01); id++){
+					int rep = ps.getClassRepresentative(id);
+					int[] orbit = ps.getOrbit(rep);
+					same &= orbit.length == ps.getOrbitSize(rep) &&
+							ps.getStabilizer(rep).length * orbit.length == ps.getOrder();
+					for(int mask : orbit)
+						same &= ps.getRepresentative(mask) == rep && ps.getClassId(mask) == id;
+					tiles += orbit.length;
+				}
+			}
+			same &= tiles == ps.maskCount && ps.checkAlgebra();
+			System.out.println(ps + ": " + ps.getClassCount() + " classes " +
+							   Arrays.toString(Arrays.copyOf(ps.firstClass, ps.arms + 0x02)) +
+							   "\t" + (same ? "same" : "DIFFERENT"));
+			allSame &= same;
+		}
+
+		/* The built-in cuboctahedron has to be the one the rest of the library knows */
+		PolyhedralSymmetry c = CUBOCTAHEDRON;
+		SymmetryTable table = SymmetryTable.CUBOCTAHEDRON;
+		CanonicalTable canon = CanonicalTable.getTable(false);
+		boolean same = c.getOrder() == new BurnsideCounter(false).getGroupOrder();
+		for(int i = 0x00; i < Tile.LENGTH; i++)
+			for(int j = 0x00; j < Tile.LENGTH; j++){
+				long dot = 0x00;
+				for(int k = 0x00; k < 0x03; k++)
+					dot += CUBOCTAHEDRON_ARMS[i][k] * CUBOCTAHEDRON_ARMS[j][k];
+				same &= Math.round(Math.toDegrees(Math.acos(dot / 2.0))) == CuboctahedronLUT.getAngle(i, j);
+			}
+		for(int id = 0x00; id < table.size(); id++)
+			if(!table.isSpecialCase(id)) same &= c.getElementId(table.getPermutation(id)) >= 0x00;
+		for(int mask = 0x00; mask < Tile.COUNT; mask++)
+			same &= c.getRepresentative(mask) == canon.getRepresentative(mask) &&
+					c.getClassId(mask) == canon.getClassId(mask);
+		System.out.println("cuboctahedron against CanonicalTable without special cases\t" +
+						   (same ? "same" : "DIFFERENT"));
+		allSame &= same;
+
+		/* With reflections the special cases add nothing, since the improper
+		 * rotations already take in every symmetry of each hexagon */
+		PolyhedralSymmetry r = forName(c.name, true);
+		same = r.getOrder() == new BurnsideCounter(false, true).getGroupOrder();
+		for(int pass = 0x00; pass < 0x02; pass++){
+			canon = CanonicalTable.getTable(pass == 0x00, true);
+			for(int mask = 0x00; mask < Tile.COUNT; mask++)
+				same &= r.getRepresentative(mask) == canon.getRepresentative(mask) &&
+						r.getClassId(mask) == canon.getClassId(mask);
+		}
+		System.out.println("cuboctahedron with reflections against CanonicalTable\t" +
+						   (same ? "same" : "DIFFERENT"));
+		allSame &= same;
+		if(!allSame) System.exit(0x01);
+	}
+}
@@ -0,0 +1,159 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.util.*;
+import java.util.function.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * A SubsetSpliterator walks the n-armed tiles one mask at a time, without
+ * building a list of them, so they can be fed straight into a stream.
+ * Each step is a single application of Gosper's hack, which finds the next
+ * larger int with the same number of bits set; splitting jumps straight to
+ * the middle by unranking, so parallel streams divide the work evenly.
+ * <p>
+ * The tiles can be walked in increasing order of mask, or in lexicographic
+ * order, which is the order {@link Combo} keeps its lex-minimal tiles in.
+ * The lexicographic walk is the same walk over the lex keys of the tiles (see
+ * {@link Tile#lexKey}), which have 12 - n bits set and sort in lex order.
+ * @see Combo#masks
+ */
+public final class SubsetSpliterator implements Spliterator.OfInt{
+
+	private static final long[][] CHOOSE = new long[Tile.LENGTH + 0x01][Tile.LENGTH + 0x01];
+
+	static{
+		for(int i = 0x00; i <= Tile.LENGTH; i++){
+			CHOOSE[i][0] = 0x01;
+			for(int j = 0x01; j <= i; j++)
+				CHOOSE[i][j] = CHOOSE[i - 0x01][j - 0x01] + CHOOSE[i - 0x01][j];
+		}
+	}
+
+	private final int bits;			// Bits set in each raw value
+	private final boolean lex;		// Whether raw values are lex keys
+	private long index;				// Rank of next
+	private final long fence;		// One past the last rank we cover
+	private int next;				// The raw value at index
+
+	/**
+	 * Instantiates a spliterator over every n-armed tile.
+	 * @param n The number of arms per tile, from 0 to 12.
+	 * @param lexOrder Whether to walk the tiles in lexicographic order,
+	 * rather than in increasing order of mask.
+	 */
+	public SubsetSpliterator(int n, boolean lexOrder){
+		this(lexOrder ? Tile.LENGTH - n : n, lexOrder, 0x00, choose(Tile.LENGTH, n));
+	}
+
+	private SubsetSpliterator(int b, boolean l, long from, long to){
+		bits = b;
+		lex = l;
+		index = from;
+		fence = to;
+		next = (from < to) ? unrank(from, b) : 0x00;
+	}
+
+	/**
+	 * @param n The size of the set.
+	 * @param k The size of the subsets.
+	 * @return The number of k-subsets of an n-set.
+	 */
+	public static long choose(int n, int k){
+		return (k < 0x00 || k > n) ? 0x00 : CHOOSE[n][k];
+	}
+
+	/**
+	 * Finds the k-bit value of a given rank, counting up from the smallest.
+	 * @param rank The rank, from 0 up to (but not including) choose(12, k).
+	 * @param k The number of bits set.
+	 * @return The value of that rank.
+	 */
+	private static int unrank(long rank, int k){
+		int value = 0x00;
+		for(int c = Tile.LENGTH - 0x01; k > 0x00; c--){
+			if(CHOOSE[c][k] <= rank){
+				rank -= CHOOSE[c][k];
+				value |= 0x01 << c;
+				k--;
+			}
+		}
+		return value;
+	}
+
+	/* Gosper's hack: the next larger int with the same number of bits set */
+	private static int successor(int x){
+		if(x == 0x00) return 0x00;
+		int c = x & -x;
+		int r = x + c;
+		return (((r ^ x) >>> 0x02) / c) | r;
+	}
+
+	public boolean tryAdvance(IntConsumer action){
+		if(index >= fence) return false;
+		int value = next;
+		next = successor(next);
+		index++;
+		action.accept(lex ? Tile.lexKey(value) : value);
+		return true;
+	}
+
+	public void forEachRemaining(IntConsumer action){
+		int value = next;
+		for(; index < fence; index++){
+			action.accept(lex ? Tile.lexKey(value) : value);
+			value = successor(value);
+		}
+		next = value;
+	}
+
+	public Spliterator.OfInt trySplit(){
+		long mid = (index + fence) >>> 0x01;
+		if(mid <= index) return null;
+		SubsetSpliterator prefix = new SubsetSpliterator(bits, lex, index, mid);
+		index = mid;
+		next = unrank(mid, bits);
+		return prefix;
+	}
+
+	public long estimateSize(){	return fence - index;	}
+
+	public int characteristics(){
+		return ORDERED | SIZED | SUBSIZED | DISTINCT | NONNULL | IMMUTABLE;
+	}
+
+	/**
+	 * This is a test driver which checks the walks against {@link Combo#list},
+	 * and the stream of lex-minimal tiles against {@link Combo}, for every
+	 * number of arms, exiting with status 1 if any of them differ.
+	 * It doesn't care about args.
+	 */
+	public static void main(String args[]){
+		SymmetryEngine engine = SymmetryEngine.DEFAULT;
+		boolean allSame = true;
+		for(int n = 0x00; n <= Tile.LENGTH; n++){
+			/* list() produces tiles in reverse lex order */
+			Combo c = new Combo(n, engine);
+			int[] listed = new int[c.getTiles().size()];
+			int i = listed.length;
+			for(Tile tile : c.getTiles())
+				listed[--i] = tile.getMask();
+			int[] sorted = listed.clone();
+			Arrays.sort(sorted);
+
+			boolean same = Arrays.equals(listed, Combo.masks(n, true, false).toArray()) &&
+						   Arrays.equals(sorted, Combo.masks(n, false, false).toArray()) &&
+						   Arrays.equals(listed, Combo.masks(n, true, true).toArray());
+			List<Tile> classes = new ArrayList<Tile>();
+			Combo.classes(n, engine, true).forEachOrdered(classes::add);
+			same &= classes.equals(new Combo(n, true, engine).getTiles());
+
+			System.out.println(n + " arms:\t" + listed.length + " tiles\t" + classes.size() +
+							   " classes\t" + (same ? "same" : "DIFFERENT"));
+			allSame &= same;
+		}
+		if(!allSame) System.exit(0x01);
+	}
+}
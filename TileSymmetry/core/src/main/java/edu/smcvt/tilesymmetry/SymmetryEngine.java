@@ -0,0 +1,181 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.util.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * A SymmetryEngine answers the same questions as the static methods of
+ * {@link CuboctahedronSymmetry}, but all of its configuration is fixed when it
+ * is built: whether the special case rotations are considered, whether mirror
+ * images count as the same tile, and an optional {@link MatchListener} to be
+ * told about each comparison. It holds no other
+ * state, so a single engine can be shared by any number of threads without
+ * locking, and engines with different settings can be used side by side.
+ * @see CuboctahedronSymmetry
+ */
+public final class SymmetryEngine{
+
+	/**
+	 * An engine with the special case rotations on and no listener,
+	 * matching the defaults of {@link CuboctahedronSymmetry}.
+	 */
+	public static final SymmetryEngine DEFAULT = new SymmetryEngine(true);
+
+	private final boolean useExtra;
+	private final boolean useReflections;
+	private final MatchListener listener;
+
+	/**
+	 * @param extra Whether or not the special case rotations should be considered.
+	 */
+	public SymmetryEngine(boolean extra){	this(extra, null);	}
+
+	/**
+	 * @param extra Whether or not the special case rotations should be considered.
+	 * @param l The listener to be told about each comparison, or null for none.
+	 */
+	public SymmetryEngine(boolean extra, MatchListener l){	this(extra, false, l);	}
+
+	/**
+	 * @param extra Whether or not the special case rotations should be considered.
+	 * @param reflect Whether or not mirror images should count as the same tile, by
+	 * trying every element on the inverted tile as well.
+	 * @param l The listener to be told about each comparison, or null for none.
+	 * @see SymmetryTable#invert
+	 */
+	public SymmetryEngine(boolean extra, boolean reflect, MatchListener l){
+		useExtra = extra;
+		useReflections = reflect;
+		listener = l;
+	}
+
+	/**
+	 * @return Whether or not the special case rotations are considered.
+	 */
+	public boolean getUseExtra(){	return useExtra;	}
+
+	/**
+	 * @return Whether or not mirror images count as the same tile.
+	 */
+	public boolean getUseReflections(){	return useReflections;	}
+
+	/**
+	 * @return The listener told about each comparison, or null if there is none.
+	 */
+	public MatchListener getListener(){	return listener;	}
+
+	/**
+	 * Tests if two tiles are rotationally symmetric, by applying every element of
+	 * {@link SymmetryTable#CUBOCTAHEDRON} to b2 and comparing against b1. Every
+	 * comparison is reported to the listener, in the same order as
+	 * {@link CuboctahedronSymmetry#areSymmetric(int, int)}. With reflections, every
+	 * element is then applied to the inverted b2 as well, and reported with
+	 * {@link CuboctahedronSymmetry#INVERSION} added to its rotations.
+	 * @param b1 The tile to be held static for comparison, as a mask.
+	 * @param b2 The tile to be rotated for comparison, as a mask.
+	 * @return A truth value representing whether the two tiles are rotationally symmetric.
+	 * @see #isEquivalent
+	 */
+	public boolean areSymmetric(int b1, int b2){	return areSymmetric(b1, b2, true);	}
+
+	/**
+	 * Tests if two tiles are rotationally symmetric, stopping at the first element
+	 * which takes b2 to b1. Use this when only the answer matters; orbit/stabilizer
+	 * tracking needs every comparison, and so needs {@link #areSymmetric(int, int)}.
+	 * @param b1 The tile to be held static for comparison, as a mask.
+	 * @param b2 The tile to be rotated for comparison, as a mask.
+	 * @return A truth value representing whether the two tiles are rotationally symmetric.
+	 */
+	public boolean isEquivalent(int b1, int b2){	return areSymmetric(b1, b2, false);	}
+
+	/**
+	 * Tests if two tiles are rotationally symmetric.
+	 * @param b1 The tile to be held static for comparison, as a mask.
+	 * @param b2 The tile to be rotated for comparison, as a mask.
+	 * @param exhaustive Whether to keep going after a match, so the listener
+	 * hears about every element; otherwise it only hears about those up to the match,
+	 * and none at all if the tiles' fingerprints already tell them apart.
+	 * @return A truth value representing whether the two tiles are rotationally symmetric.
+	 * @see CuboctahedronLUT#getFingerprint
+	 */
+	public boolean areSymmetric(int b1, int b2, boolean exhaustive){
+		long start = SymmetryMetrics.ENABLED ? System.nanoTime() : 0x00;
+
+		/* Tiles with different angles between their arms can't match,
+		 * which is worth checking unless a listener wants to see us try. */
+		if((listener == null || !exhaustive) &&
+		   CuboctahedronLUT.getFingerprint(b1) != CuboctahedronLUT.getFingerprint(b2)){
+			if(SymmetryMetrics.ENABLED)
+				SymmetryMetrics.symmetryTest(System.nanoTime() - start, true, 0x00, 0x00, 0x00, 0x00);
+			return false;
+		}
+
+		SymmetryTable table = SymmetryTable.CUBOCTAHEDRON;
+		boolean ret = false;
+		int transforms = 0x00, matches = 0x00, fired = 0x00, bailed = 0x00;
+		int passes = useReflections ? 0x02 : 0x01;
+		for(int pass = 0x00; pass < passes && (exhaustive || !ret); pass++){
+			int b = (pass == 0x00) ? b2 : table.invert(b2);
+			int inverted = (pass == 0x00) ? 0x00 : CuboctahedronSymmetry.INVERSION;
+			for(int id = 0x00; id < table.size() && (exhaustive || !ret); id++){
+				if(!table.appliesTo(id, b) || (!useExtra && table.isSpecialCase(id))){
+					if(SymmetryMetrics.ENABLED) bailed++;
+					continue;
+				}
+				int r = table.apply(id, b);
+				if(listener != null)
+					listener.compared(b1, r, table.getRotTrack(id) | inverted, r == b1);
+				ret |= (r == b1);
+				if(SymmetryMetrics.ENABLED){
+					transforms++;
+					if(r == b1) matches++;
+					if(table.isSpecialCase(id)) fired++;
+				}
+			}
+		}
+		if(SymmetryMetrics.ENABLED)
+			SymmetryMetrics.symmetryTest(System.nanoTime() - start, false, transforms, matches,
+										 fired, bailed);
+		return ret;
+	}
+
+	/**
+	 * Applies an element of {@link SymmetryTable#CUBOCTAHEDRON} to a tile,
+	 * if this engine's settings allow it.
+	 * @param id The element number.
+	 * @param b The tile to be rotated, as a mask.
+	 * @return b rotated by the element, or -1 if the element doesn't apply to b.
+	 */
+	public int apply(int id, int b){
+		SymmetryTable table = SymmetryTable.CUBOCTAHEDRON;
+		if(!table.appliesTo(id, b) || (!useExtra && table.isSpecialCase(id)))
+			return -1;
+		return table.apply(id, b);
+	}
+
+	/**
+	 * @return The shared canonical form table for this engine's settings.
+	 */
+	public CanonicalTable getCanonicalTable(){	return CanonicalTable.getTable(useExtra, useReflections);	}
+
+	/**
+	 * @param mask Any tile, as a mask.
+	 * @return The lex-minimal tile it is rotationally symmetric to, as a mask.
+	 */
+	public int getRepresentative(int mask){	return getCanonicalTable().getRepresentative(mask);	}
+
+	/**
+	 * @param mask Any tile, as a mask.
+	 * @return The id of its tile class.
+	 */
+	public int getClassId(int mask){	return getCanonicalTable().getClassId(mask);	}
+
+	/**
+	 * @param b Any tile, as a mask.
+	 * @return The orbit and stabilizer of b under this engine's settings.
+	 */
+	public OrbitStabilizer orbitStabilizer(int b){	return new OrbitStabilizer(b, useExtra, useReflections);	}
+}
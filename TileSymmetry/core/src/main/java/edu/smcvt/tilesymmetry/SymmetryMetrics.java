@@ -0,0 +1,172 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.lang.management.*;
+import java.util.concurrent.atomic.*;
+import javax.management.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * SymmetryMetrics counts the work done by the symmetry code: symmetry tests and
+ * the time they take, rotations applied, matches, special case rotations fired
+ * or skipped, orbit walks, and the angle groupings and their sizes.
+ * <p>
+ * Collection is off unless the JVM is started with -Dtilesymmetry.metrics=true.
+ * The switch is read once into a constant, so when it's off the JIT drops every
+ * bit of counting code and it costs nothing. When it's on, the counts are kept
+ * in {@link LongAdder}s, so threads counting at once don't contend, and can be
+ * read as a text {@link #report} or over JMX, once {@link #register} is called.
+ * @see SymmetryEngine
+ */
+public final class SymmetryMetrics implements SymmetryMetricsMBean{
+
+	/**
+	 * Whether or not metrics are being collected.
+	 */
+	public static final boolean ENABLED = Boolean.getBoolean("tilesymmetry.metrics");
+
+	/**
+	 * The name the metrics are registered under with JMX.
+	 */
+	public static final String OBJECT_NAME = "edu.smcvt.tilesymmetry:type=SymmetryMetrics";
+
+	private static final SymmetryMetrics INSTANCE = new SymmetryMetrics();
+
+	private static final LongAdder SYMMETRY_TESTS = new LongAdder();
+	private static final LongAdder SYMMETRY_TEST_NANOS = new LongAdder();
+	private static final LongAdder PREFILTER_REJECTS = new LongAdder();
+	private static final LongAdder TRANSFORMS = new LongAdder();
+	private static final LongAdder MATCHES = new LongAdder();
+	private static final LongAdder MATCH_CALLS = new LongAdder();
+	private static final LongAdder SPECIAL_FIRED = new LongAdder();
+	private static final LongAdder SPECIAL_BAILED = new LongAdder();
+	private static final LongAdder ORBIT_WALKS = new LongAdder();
+	private static final LongAdder TILES_GROUPED = new LongAdder();
+	private static final LongAdder GROUPINGS_REDUCED = new LongAdder();
+	private static final LongAccumulator LARGEST_GROUPING = new LongAccumulator(Math::max, 0x00);
+
+	private SymmetryMetrics(){}
+
+	/* Callers check ENABLED before calling any of these, so that
+	 * none of the work to get the arguments is done when it's off. */
+
+	static void symmetryTest(long nanos, boolean rejected, int transforms, int matches,
+							 int fired, int bailed){
+		SYMMETRY_TESTS.increment();
+		SYMMETRY_TEST_NANOS.add(nanos);
+		if(rejected) PREFILTER_REJECTS.increment();
+		TRANSFORMS.add(transforms);
+		MATCHES.add(matches);
+		SPECIAL_FIRED.add(fired);
+		SPECIAL_BAILED.add(bailed);
+	}
+
+	static void matchCall(boolean matched){
+		MATCH_CALLS.increment();
+		if(matched) MATCHES.increment();
+	}
+
+	static void specialCase(boolean fired){
+		if(fired) SPECIAL_FIRED.increment();
+		else SPECIAL_BAILED.increment();
+	}
+
+	static void orbitWalk(int transforms){
+		ORBIT_WALKS.increment();
+		TRANSFORMS.add(transforms);
+	}
+
+	static void tileGrouped(){	TILES_GROUPED.increment();	}
+
+	static void groupingReduced(int size){
+		GROUPINGS_REDUCED.increment();
+		LARGEST_GROUPING.accumulate(size);
+	}
+
+	/**
+	 * @return The metrics, as a JMX MBean.
+	 */
+	public static SymmetryMetrics getInstance(){	return INSTANCE;	}
+
+	/**
+	 * Registers the metrics with the platform MBean server, under {@link #OBJECT_NAME},
+	 * if they aren't already.
+	 * @throws JMException If the MBean server won't take them.
+	 */
+	public static void register() throws JMException{
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(OBJECT_NAME);
+		if(!server.isRegistered(name))
+			server.registerMBean(INSTANCE, name);
+	}
+
+	/**
+	 * Formats the counts as text, one to a line.
+	 * @return The report.
+	 */
+	public static String report(){
+		SymmetryMetrics m = INSTANCE;
+		StringBuilder sb = new StringBuilder();
+		if(!ENABLED)
+			return sb.append("Metrics are off (run with -Dtilesymmetry.metrics=true)\n").toString();
+		long tests = m.getSymmetryTests();
+		sb.append("Symmetry tests:\t\t").append(tests).append('\n');
+		sb.append("  by fingerprint:\t").append(m.getPrefilterRejects()).append('\n');
+		sb.append("  time (ms):\t\t").append(m.getSymmetryTestNanos() / 1000000).append('\n');
+		if(tests > 0x00)
+			sb.append("  mean (ns):\t\t").append(m.getSymmetryTestNanos() / tests).append('\n');
+		sb.append("Transforms:\t\t").append(m.getTransforms()).append('\n');
+		sb.append("Matches:\t\t").append(m.getMatches()).append('\n');
+		sb.append("match() calls:\t\t").append(m.getMatchCalls()).append('\n');
+		sb.append("Special cases fired:\t").append(m.getSpecialCasesFired()).append('\n');
+		sb.append("Special cases bailed:\t").append(m.getSpecialCasesBailed()).append('\n');
+		sb.append("Orbit walks:\t\t").append(m.getOrbitWalks()).append('\n');
+		sb.append("Tiles grouped:\t\t").append(m.getTilesGrouped()).append('\n');
+		sb.append("Groupings reduced:\t").append(m.getGroupingsReduced()).append('\n');
+		sb.append("Largest grouping:\t").append(m.getLargestGrouping()).append('\n');
+		return sb.toString();
+	}
+
+	public boolean getEnabled(){	return ENABLED;	}
+
+	public long getSymmetryTests(){	return SYMMETRY_TESTS.sum();	}
+
+	public long getSymmetryTestNanos(){	return SYMMETRY_TEST_NANOS.sum();	}
+
+	public long getPrefilterRejects(){	return PREFILTER_REJECTS.sum();	}
+
+	public long getTransforms(){	return TRANSFORMS.sum();	}
+
+	public long getMatches(){	return MATCHES.sum();	}
+
+	public long getMatchCalls(){	return MATCH_CALLS.sum();	}
+
+	public long getSpecialCasesFired(){	return SPECIAL_FIRED.sum();	}
+
+	public long getSpecialCasesBailed(){	return SPECIAL_BAILED.sum();	}
+
+	public long getOrbitWalks(){	return ORBIT_WALKS.sum();	}
+
+	public long getTilesGrouped(){	return TILES_GROUPED.sum();	}
+
+	public long getGroupingsReduced(){	return GROUPINGS_REDUCED.sum();	}
+
+	public long getLargestGrouping(){	return LARGEST_GROUPING.get();	}
+
+	public void reset(){
+		SYMMETRY_TESTS.reset();
+		SYMMETRY_TEST_NANOS.reset();
+		PREFILTER_REJECTS.reset();
+		TRANSFORMS.reset();
+		MATCHES.reset();
+		MATCH_CALLS.reset();
+		SPECIAL_FIRED.reset();
+		SPECIAL_BAILED.reset();
+		ORBIT_WALKS.reset();
+		TILES_GROUPED.reset();
+		GROUPINGS_REDUCED.reset();
+		LARGEST_GROUPING.reset();
+	}
+}
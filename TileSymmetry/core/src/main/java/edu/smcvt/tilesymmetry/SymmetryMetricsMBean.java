@@ -0,0 +1,81 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+/**
+ * The JMX view of {@link SymmetryMetrics}.
+ */
+public interface SymmetryMetricsMBean{
+
+	/**
+	 * @return Whether or not metrics are being collected at all.
+	 */
+	public boolean getEnabled();
+
+	/**
+	 * @return The number of symmetry tests made by {@link SymmetryEngine}.
+	 */
+	public long getSymmetryTests();
+
+	/**
+	 * @return The total time spent in those tests, in nanoseconds.
+	 */
+	public long getSymmetryTestNanos();
+
+	/**
+	 * @return The number of those tests answered by fingerprint alone.
+	 */
+	public long getPrefilterRejects();
+
+	/**
+	 * @return The number of rotations applied to tiles, by symmetry tests and orbit walks.
+	 */
+	public long getTransforms();
+
+	/**
+	 * @return The number of rotated tiles which matched the tile they were compared with.
+	 */
+	public long getMatches();
+
+	/**
+	 * @return The number of calls to {@link CuboctahedronSymmetry#match}.
+	 */
+	public long getMatchCalls();
+
+	/**
+	 * @return The number of times a special case rotation was applied.
+	 */
+	public long getSpecialCasesFired();
+
+	/**
+	 * @return The number of times a special case rotation was skipped because
+	 * the tile didn't lie in its plane, or the special cases were off.
+	 */
+	public long getSpecialCasesBailed();
+
+	/**
+	 * @return The number of orbits walked by {@link SymmetryTable#walkOrbit}.
+	 */
+	public long getOrbitWalks();
+
+	/**
+	 * @return The number of tiles grouped by {@link CuboctahedronLUT#computeAngles}.
+	 */
+	public long getTilesGrouped();
+
+	/**
+	 * @return The number of groupings reduced by {@link Combo#removeCopies}.
+	 */
+	public long getGroupingsReduced();
+
+	/**
+	 * @return The number of tiles in the largest grouping reduced.
+	 */
+	public long getLargestGrouping();
+
+	/**
+	 * Sets every count back to zero.
+	 */
+	public void reset();
+}
@@ -0,0 +1,293 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.util.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * A SymmetryTable holds every rotation that {@link CuboctahedronSymmetry#areSymmetric}
+ * tries, precomputed once as an arm permutation. There are 120 elements: for each of
+ * the 3 face rotations, the 8 plane and alpha-1 rotations, followed by those same 8
+ * composed with each of the 4 special case rotations. They are numbered in exactly
+ * the order the original chain of rotate* calls visited them, and each keeps its
+ * rotTrack label so it can still be shown with {@link CuboctahedronSymmetry#printRot}.
+ * <p>
+ * Applying an element to a mask is two lookups into 64-entry tables, one for
+ * each half of the mask. The special case elements only apply to tiles lying
+ * within their domain; see {@link #appliesTo}.
+ * @see CuboctahedronSymmetry
+ */
+public final class SymmetryTable{
+
+	private static final int HALF = 0x06;		// Bits per lookup table
+	private static final int HALF_MASK = 0x3f;
+	private static final int HALF_SIZE = 0x40;
+	private static final int REACHED_PLAIN = Tile.COUNT;	// Marks orbit entries during a walk
+
+	private static final int[] FACES = {	CuboctahedronSymmetry.NONE,
+											CuboctahedronSymmetry.FACE120,
+											CuboctahedronSymmetry.FACE240 };
+
+	private static final int[] PLANES = {	CuboctahedronSymmetry.NONE,
+											CuboctahedronSymmetry.PLANE90,
+											CuboctahedronSymmetry.PLANE180,
+											CuboctahedronSymmetry.PLANE270 };
+
+	private static final int[] SPECIALS = {	CuboctahedronSymmetry.NONE,
+											CuboctahedronSymmetry.ALPHA_TETRADIHEDRAL,
+											CuboctahedronSymmetry.ALPHA_TETRAHEDRAL,
+											CuboctahedronSymmetry.ALPHAT_TETRADIHEDRAL,
+											CuboctahedronSymmetry.ALPHAT_TETRAHEDRAL };
+
+	/**
+	 * The table for the rotations of the cuboctahedron and the special case rotations.
+	 */
+	public static final SymmetryTable CUBOCTAHEDRON = new SymmetryTable();
+
+	private final int size;
+	private final byte[][] perms;	// perms[id][arm] is where arm ends up, or -1
+	private final short[] lows;		// lows[id * 64 + m] is the image of the low 6 arms m
+	private final short[] highs;	// highs[id * 64 + m] is the image of the high 6 arms m
+	private final short[] domains;
+	private final int[] rotTracks;
+	private final boolean exact;
+	private final short[] inversions;	// The low 6 arms' images, then the high 6 arms'
+
+	/**
+	 * Builds the table by running every single-arm tile through the generator rotations.
+	 */
+	private SymmetryTable(){
+		size = FACES.length * SPECIALS.length * PLANES.length * 0x02;
+		perms = new byte[size][Tile.LENGTH];
+		lows = new short[size * HALF_SIZE];
+		highs = new short[size * HALF_SIZE];
+		domains = new short[size];
+		rotTracks = new int[size];
+
+		int id = 0x00;
+		for(int f = 0x00; f < FACES.length; f++)
+			for(int s = 0x00; s < SPECIALS.length; s++)
+				for(int p = 0x00; p < PLANES.length; p++)
+					for(int a = 0x00; a < 0x02; a++){
+						int domain = 0x00;
+						for(int arm = 0x00; arm < Tile.LENGTH; arm++){
+							int image = rotate(0x01 << arm, f, p, a);
+							if(s != 0x00 && (image & ~specialDomain(s)) != 0x00){
+								perms[id][arm] = -1;	// The special case can't move this arm
+								continue;
+							}
+							domain |= 0x01 << arm;
+							perms[id][arm] = (byte)Integer.numberOfTrailingZeros(special(image, s));
+						}
+						domains[id] = (short)domain;
+						rotTracks[id] = FACES[f] | PLANES[p] |
+										((a == 0x01) ? CuboctahedronSymmetry.ALPHA180 : 0x00) |
+										SPECIALS[s];
+						fillLookups(id);
+						id++;
+					}
+
+		List<int[]> plain = new ArrayList<int[]>();
+		for(id = 0x00; id < size; id++)
+			if(!isSpecialCase(id)) plain.add(getPermutation(id));
+		exact = GroupClosure.CUBOCTAHEDRON.isExact(plain.toArray(new int[plain.size()][]));
+
+		inversions = new short[HALF_SIZE << 0x01];
+		for(int m = 0x00; m < HALF_SIZE; m++)
+			for(int bit = 0x00; bit < HALF; bit++){
+				if((m & (0x01 << bit)) == 0x00) continue;
+				inversions[m] |= 0x01 << opposite(bit);
+				inversions[HALF_SIZE + m] |= 0x01 << opposite(bit + HALF);
+			}
+	}
+
+	private static int opposite(int arm){
+		for(int other = 0x00; other < Tile.LENGTH; other++)
+			if(CuboctahedronLUT.getAngle(arm, other) == 180) return other;
+		return arm;
+	}
+
+	/**
+	 * Replays the generator rotations in the order areSymmetric has always used.
+	 */
+	private static int rotate(int b, int faces, int planes, int alpha){
+		for(int i = 0x00; i < faces; i++)	b = CuboctahedronSymmetry.rotateBetaToAlpha(b);
+		for(int i = 0x00; i < planes; i++)	b = CuboctahedronSymmetry.rotateAlphaPlane(b);
+		return (alpha == 0x01) ? CuboctahedronSymmetry.rotateAroundAlpha1(b) : b;
+	}
+
+	private static int specialDomain(int s){
+		switch(s){
+			case 0x01:	return CuboctahedronSymmetry.TETRADIHEDRAL1_DOMAIN;
+			case 0x02:	return CuboctahedronSymmetry.TETRAHEDRAL1_DOMAIN;
+			case 0x03:	return CuboctahedronSymmetry.TETRADIHEDRAL2_DOMAIN;
+			case 0x04:	return CuboctahedronSymmetry.TETRAHEDRAL2_DOMAIN;
+			default:	return Tile.FULL;
+		}
+	}
+
+	private static int special(int b, int s){
+		switch(s){
+			case 0x01:	return CuboctahedronSymmetry.tetraDihedralAroundAlpha1(b);
+			case 0x02:	return CuboctahedronSymmetry.tetrahedralAroundAlpha1(b);
+			case 0x03:	return CuboctahedronSymmetry.tetraDihedralAroundAlpha2(b);
+			case 0x04:	return CuboctahedronSymmetry.tetrahedralAroundAlpha2(b);
+			default:	return b;
+		}
+	}
+
+	private void fillLookups(int id){
+		int base = id * HALF_SIZE;
+		for(int m = 0x00; m < HALF_SIZE; m++){
+			int lo = 0x00, hi = 0x00;
+			for(int bit = 0x00; bit < HALF; bit++){
+				if((m & (0x01 << bit)) == 0x00) continue;
+				if(perms[id][bit] >= 0)
+					lo |= 0x01 << perms[id][bit];
+				if(perms[id][bit + HALF] >= 0)
+					hi |= 0x01 << perms[id][bit + HALF];
+			}
+			lows[base + m] = (short)lo;
+			highs[base + m] = (short)hi;
+		}
+	}
+
+	/**
+	 * @return The number of elements in this table.
+	 */
+	public int size(){	return size;	}
+
+	/**
+	 * Applies an element to a tile. The result is only meaningful
+	 * if {@link #appliesTo} holds for the tile.
+	 * @param id The element number, from 0 to {@link #size} - 1.
+	 * @param b The tile to be rotated, as a mask.
+	 * @return b, rotated by the element.
+	 */
+	public int apply(int id, int b){
+		int base = id << HALF;
+		return lows[base + (b & HALF_MASK)] | highs[base + (b >>> HALF)];
+	}
+
+	/**
+	 * Tests whether an element may be applied to a tile. The plain rotations
+	 * apply to every tile; the special case rotations only to tiles lying
+	 * in the matching hexagonal plane (after the plain part of the element).
+	 * @param id The element number.
+	 * @param b The tile to be rotated, as a mask.
+	 * @return Whether b lies entirely within the element's domain.
+	 */
+	public boolean appliesTo(int id, int b){	return (b & ~domains[id]) == 0x00;	}
+
+	/**
+	 * @param id The element number.
+	 * @return The arms the element can move, as a mask.
+	 */
+	public int getDomain(int id){	return domains[id];	}
+
+	/**
+	 * @param id The element number.
+	 * @return The rotation flags describing the element, for {@link CuboctahedronSymmetry#printRot}.
+	 */
+	public int getRotTrack(int id){	return rotTracks[id];	}
+
+	/**
+	 * @param id The element number.
+	 * @return Whether the element includes one of the special case rotations.
+	 */
+	public boolean isSpecialCase(int id){	return (rotTracks[id] & 0x00ff & ~CuboctahedronSymmetry.ALPHA180) != 0x00;	}
+
+	/**
+	 * @return Whether or not the plain elements make every rotation of the
+	 * cuboctahedron exactly once, as checked by {@link GroupClosure}.
+	 */
+	public boolean isExact(){	return exact;	}
+
+	/**
+	 * Applies the central inversion to a tile, taking every arm to the arm opposite it.
+	 * It isn't a rotation, but followed by each of the plain elements it gives every
+	 * improper rotation of the cuboctahedron, i.e. every rotation of the mirror image.
+	 * @param b The tile to be inverted, as a mask.
+	 * @return b, inverted.
+	 */
+	public int invert(int b){	return inversions[b & HALF_MASK] | inversions[HALF_SIZE + (b >>> HALF)];	}
+
+	/**
+	 * Collects the orbit of a tile: every tile that can be reached from it by
+	 * applying elements of this table, one after another. Each tile found is
+	 * marked in seen, and tiles already marked there are not revisited, so a
+	 * caller can walk many orbits with one seen array and never repeat work.
+	 * <p>
+	 * When the plain elements are exactly the rotation group (see {@link #isExact}),
+	 * a tile reached by one of them has the same plain orbit as the tile it was
+	 * reached from, which has already been walked, so only the special case
+	 * elements are applied to it.
+	 * @param b The tile whose orbit is wanted, as a mask.
+	 * @param extra Whether or not the special case rotations should be considered.
+	 * @param seen Marks for the 4096 masks; updated in place.
+	 * @param orbit Receives the masks in the orbit, starting with b. Must have room for 4096.
+	 * @return The number of masks written to orbit.
+	 */
+	public int walkOrbit(int b, boolean extra, boolean[] seen, int[] orbit){
+		return walkOrbit(b, extra, false, seen, orbit);
+	}
+
+	/**
+	 * Collects the orbit of a tile, as {@link #walkOrbit(int, boolean, boolean[], int[])}
+	 * does, optionally counting mirror images as reachable too.
+	 * @param b The tile whose orbit is wanted, as a mask.
+	 * @param extra Whether or not the special case rotations should be considered.
+	 * @param reflect Whether or not the central inversion should be applied as well,
+	 * so that the orbit takes in the improper rotations.
+	 * @param seen Marks for the 4096 masks; updated in place.
+	 * @param orbit Receives the masks in the orbit, starting with b. Must have room for 4096.
+	 * @return The number of masks written to orbit.
+	 * @see #invert
+	 */
+	public int walkOrbit(int b, boolean extra, boolean reflect, boolean[] seen, int[] orbit){
+		int count = 0x00, head = 0x00, transforms = 0x00;
+		seen[b] = true;
+		orbit[count++] = b;
+		while(head < count){
+			int t = orbit[head++];
+			boolean plainDone = (t & REACHED_PLAIN) != 0x00;
+			t &= Tile.FULL;
+			for(int id = 0x00; id < size; id++){
+				boolean special = isSpecialCase(id);
+				if(!appliesTo(id, t) || (special ? !extra : plainDone))
+					continue;
+				int r = apply(id, t);
+				if(SymmetryMetrics.ENABLED) transforms++;
+				if(seen[r]) continue;
+				seen[r] = true;
+				orbit[count++] = (exact && !special) ? (r | REACHED_PLAIN) : r;
+			}
+			if(reflect){
+				int r = invert(t);
+				if(SymmetryMetrics.ENABLED) transforms++;
+				if(!seen[r]){
+					seen[r] = true;
+					orbit[count++] = r;
+				}
+			}
+		}
+		for(int i = 0x00; i < count; i++)
+			orbit[i] &= Tile.FULL;
+		if(SymmetryMetrics.ENABLED) SymmetryMetrics.orbitWalk(transforms);
+		return count;
+	}
+
+	/**
+	 * @param id The element number.
+	 * @return A copy of the element as a permutation: entry i is the arm
+	 * that arm i is moved to, or -1 if arm i is outside the domain.
+	 */
+	public int[] getPermutation(int id){
+		int[] perm = new int[Tile.LENGTH];
+		for(int arm = 0x00; arm < Tile.LENGTH; arm++)
+			perm[arm] = perms[id][arm];
+		return perm;
+	}
+}
@@ -0,0 +1,160 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.util.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * A Tile is an immutable, packed representation of an n-armed tile. Each arm
+ * occupies the bit whose position is the arm's index in
+ * {@link CuboctahedronSymmetry} (A1 is bit 0, G4 is bit 11), so comparing two
+ * tiles is a single integer comparison. The static methods work directly on
+ * raw masks, so the hot paths never need to allocate, and convert to and from
+ * the boolean[] bit strings used by the rest of the API.
+ * @see CuboctahedronSymmetry#a2I
+ */
+public final class Tile implements Comparable<Tile>{
+
+	/**
+	 * The number of arms in a tile.
+	 */
+	public static final int LENGTH = 12;
+
+	/**
+	 * The mask with every arm set.
+	 */
+	public static final int FULL = 0x0fff;
+
+	/**
+	 * The number of distinct masks, i.e. the size of a table indexed by mask.
+	 */
+	public static final int COUNT = 0x1000;
+
+	private static final String[] NAMES = { "A1", "A2", "A3", "A4",
+											"B1", "B2", "B3", "B4",
+											"G1", "G2", "G3", "G4" };
+
+	private final short mask;
+
+	/**
+	 * @param m The mask of arms, with arm i stored in bit i.
+	 */
+	public Tile(int m){
+		if((m & ~FULL) != 0x00)
+			throw new IllegalArgumentException("Mask 0x" + Integer.toHexString(m) +
+											   " has bits outside the 12 arms");
+		mask = (short)m;
+	}
+
+	/**
+	 * @param bitString A bit string of length 12 representing the tile.
+	 */
+	public Tile(boolean[] bitString){	this(pack(bitString));	}
+
+	/**
+	 * @return The mask of arms, with arm i stored in bit i.
+	 */
+	public int getMask(){	return mask;	}
+
+	/**
+	 * @return The number of arms this tile has.
+	 */
+	public int getArmCount(){	return Integer.bitCount(mask);	}
+
+	/**
+	 * @param arm The arm number, as returned by {@link CuboctahedronSymmetry#a2I}.
+	 * @return Whether or not this tile has that arm.
+	 */
+	public boolean hasArm(int arm){	return ((mask >>> arm) & 0x01) != 0x00;	}
+
+	/**
+	 * @return A freshly allocated bit string of length 12 representing this tile.
+	 */
+	public boolean[] toBitString(){	return unpack(mask);	}
+
+	/**
+	 * Packs a bit string into a mask.
+	 * @param bitString A bit string of length 12 representing a tile.
+	 * @return The mask of arms, with arm i stored in bit i.
+	 */
+	public static int pack(boolean[] bitString){
+		int m = 0x00;
+		for(int i = 0x00; i < LENGTH; i++)
+			if(bitString[i]) m |= 0x01 << i;
+		return m;
+	}
+
+	/**
+	 * Unpacks a mask into a bit string.
+	 * @param m The mask of arms, with arm i stored in bit i.
+	 * @return A freshly allocated bit string of length 12.
+	 */
+	public static boolean[] unpack(int m){
+		boolean[] bitString = new boolean[LENGTH];
+		for(int i = 0x00; i < LENGTH; i++)
+			bitString[i] = ((m >>> i) & 0x01) != 0x00;
+		return bitString;
+	}
+
+	/**
+	 * Gives the position of a mask in lexicographic order of arm names,
+	 * amongst masks with the same number of arms. The mask with the smallest
+	 * value is the lex-minimal one, e.g. A1, A2 comes before A1, A3.
+	 * @param m The mask of arms.
+	 * @return A 12-bit sort key; smaller keys are lexicographically earlier.
+	 */
+	public static int lexKey(int m){
+		return ~(Integer.reverse(m) >>> (0x20 - LENGTH)) & FULL;
+	}
+
+	/**
+	 * @param arm The arm number, as returned by {@link CuboctahedronSymmetry#a2I}.
+	 * @return The name of the arm, e.g. "A1".
+	 */
+	public static String armName(int arm){	return NAMES[arm];	}
+
+	/**
+	 * Formats a mask the same way {@link Combo#printBitString} prints a tile.
+	 * @param m The mask of arms.
+	 * @return A comma separated list of arm names, e.g. "A1, B2, ".
+	 */
+	public static String toString(int m){
+		StringBuilder sb = new StringBuilder();
+		for(int i = 0x00; i < LENGTH; i++)
+			if(((m >>> i) & 0x01) != 0x00)
+				sb.append(NAMES[i]).append(", ");
+		return sb.toString();
+	}
+
+	/**
+	 * Orders tiles by arm count and then lexicographically by arm names.
+	 * @param other The tile to be compared.
+	 * @return A negative number, zero, or a positive number as this tile
+	 * comes before, is equal to, or comes after the other.
+	 */
+	public int compareTo(Tile other){
+		int c = getArmCount() - other.getArmCount();
+		return (c != 0) ? c : lexKey(mask) - lexKey(other.mask);
+	}
+
+	/**
+	 * @param other The object to be compared
+	 * @return Whether or not the other object is a tile with the same arms.
+	 */
+	public boolean equals(Object other){
+		return (other instanceof Tile) && ((Tile)other).mask == mask;
+	}
+
+	/**
+	 * @return The mask itself, which is already a perfect hash.
+	 */
+	public int hashCode(){	return mask;	}
+
+	/**
+	 * @return A comma separated list of arm names.
+	 * @see #toString(int)
+	 */
+	public String toString(){	return toString(mask);	}
+}
@@ -0,0 +1,289 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * A TileCatalog holds everything there is to know about the tile classes in a
+ * compact binary form, so it can be computed once, written to a file, and then
+ * memory-mapped by any number of later runs instead of being computed again.
+ * Queries read straight out of the mapped buffer, so loading a catalog costs
+ * no more than opening the file.
+ * <p>
+ * The format is big-endian throughout:
+ * <pre>
+ *   int     magic ("TSCT")
+ *   int     version (2)
+ *   int     flags (bit 0: special case rotations considered, bit 1: mirror images merged)
+ *   int     number of classes, c
+ *   int[14] first class id for each number of arms, as {@link CanonicalTable#getFirstClass}
+ *   c times, in class id order:
+ *     short representative mask
+ *     short orbit size
+ *     short stabilizer size
+ *   short[4096] class id, indexed by mask
+ *   short[4096] element id, indexed by mask, as {@link CanonicalTable#getElementId}
+ * </pre>
+ * Orbit and stabilizer sizes are those of the representative, as
+ * {@link OrbitStabilizer} computes them. Version 1 catalogs, which had no
+ * element ids, have to be written again.
+ * @see CanonicalTable
+ */
+public final class TileCatalog{
+
+	private static final int MAGIC = 0x54534354;	// "TSCT"
+	private static final int VERSION = 0x02;
+	private static final int EXTRA_FLAG = 0x01;
+	private static final int REFLECT_FLAG = 0x02;
+	private static final int HEADER = 0x10 + ((Tile.LENGTH + 0x02) << 0x02);
+	private static final int CLASS_BYTES = 0x06;
+
+	private final ByteBuffer data;
+	private final boolean useExtra;
+	private final boolean useReflections;
+	private final int classCount;
+	private final int classes;		// Offset of the per-class entries
+	private final int ids;			// Offset of the mask to class id table
+	private final int elements;		// Offset of the mask to element id table
+
+	/**
+	 * Builds a catalog in memory.
+	 * @param e The engine whose settings decide which tiles are symmetric.
+	 */
+	public TileCatalog(SymmetryEngine e){
+		CanonicalTable table = e.getCanonicalTable();
+		int count = table.getClassCount();
+		ByteBuffer b = ByteBuffer.allocate(HEADER + count * CLASS_BYTES + (Tile.COUNT << 0x02));
+		b.putInt(MAGIC).putInt(VERSION);
+		b.putInt((e.getUseExtra() ? EXTRA_FLAG : 0x00) | (e.getUseReflections() ? REFLECT_FLAG : 0x00));
+		b.putInt(count);
+		for(int n = 0x00; n <= Tile.LENGTH + 0x01; n++)
+			b.putInt(table.getFirstClass(n));
+		for(int id = 0x00; id < count; id++){
+			OrbitStabilizer os = e.orbitStabilizer(table.getClassRepresentative(id));
+			b.putShort((short)os.getTile());
+			b.putShort((short)os.getOrbitSize());
+			b.putShort((short)os.getStabilizerSize());
+		}
+		for(int mask = 0x00; mask < Tile.COUNT; mask++)
+			b.putShort((short)table.getClassId(mask));
+		for(int mask = 0x00; mask < Tile.COUNT; mask++)
+			b.putShort((short)table.getElementId(mask));
+		b.flip();
+		data = b.asReadOnlyBuffer();
+		useExtra = e.getUseExtra();
+		useReflections = e.getUseReflections();
+		classCount = count;
+		classes = HEADER;
+		ids = HEADER + count * CLASS_BYTES;
+		elements = ids + (Tile.COUNT << 0x01);
+	}
+
+	private TileCatalog(ByteBuffer b) throws IOException{
+		if(b.capacity() < HEADER || b.getInt(0x00) != MAGIC)
+			throw new IOException("Not a tile catalog");
+		if(b.getInt(0x04) != VERSION)
+			throw new IOException("Unsupported tile catalog version " + b.getInt(0x04) +
+								  ", write it again with this version");
+		int count = b.getInt(0x0c);
+		if(count < 0x00 || b.capacity() != HEADER + count * CLASS_BYTES + (Tile.COUNT << 0x02) ||
+		   b.getInt(0x10 + ((Tile.LENGTH + 0x01) << 0x02)) != count)
+			throw new IOException("Truncated or corrupt tile catalog");
+		data = b;
+		useExtra = (b.getInt(0x08) & EXTRA_FLAG) != 0x00;
+		useReflections = (b.getInt(0x08) & REFLECT_FLAG) != 0x00;
+		classCount = count;
+		classes = HEADER;
+		ids = HEADER + count * CLASS_BYTES;
+		elements = ids + (Tile.COUNT << 0x01);
+	}
+
+	/**
+	 * Memory-maps a catalog written by {@link #write}.
+	 * @param file The catalog file.
+	 * @return The catalog, reading from the mapped file.
+	 * @throws IOException If the file can't be read, or isn't a catalog.
+	 */
+	public static TileCatalog load(Path file) throws IOException{
+		try(FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)){
+			return new TileCatalog(ch.map(FileChannel.MapMode.READ_ONLY, 0x00, ch.size()));
+		}
+	}
+
+	/**
+	 * Writes the catalog to a file, replacing anything already there.
+	 * @param file The file to write.
+	 * @throws IOException If the file can't be written.
+	 */
+	public void write(Path file) throws IOException{
+		try(FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE,
+											  StandardOpenOption.CREATE,
+											  StandardOpenOption.TRUNCATE_EXISTING)){
+			ByteBuffer b = data.duplicate();
+			b.clear();
+			while(b.hasRemaining()) ch.write(b);
+		}
+	}
+
+	/**
+	 * @return Whether or not the special case rotations were considered.
+	 */
+	public boolean getUseExtra(){	return useExtra;	}
+
+	/**
+	 * @return Whether or not mirror images were counted as the same tile.
+	 */
+	public boolean getUseReflections(){	return useReflections;	}
+
+	/**
+	 * @return The number of tile classes, over all arm counts.
+	 */
+	public int getClassCount(){	return classCount;	}
+
+	/**
+	 * @param n The number of arms per tile, from 0 to 12.
+	 * @return The number of tile classes with n arms.
+	 */
+	public int getClassCount(int n){	return getFirstClass(n + 0x01) - getFirstClass(n);	}
+
+	/**
+	 * @param n The number of arms per tile, from 0 to 13.
+	 * @return The id of the first tile class with n arms.
+	 * @throws IndexOutOfBoundsException If n is outside 0 to 13.
+	 */
+	public int getFirstClass(int n){
+		return data.getInt(0x10 + (Objects.checkIndex(n, Tile.LENGTH + 0x02) << 0x02));
+	}
+
+	/**
+	 * @param classId A class id.
+	 * @return The lex-minimal tile of that class, as a mask.
+	 * @throws IndexOutOfBoundsException If there is no class with that id.
+	 */
+	public int getClassRepresentative(int classId){
+		return data.getShort(classes + Objects.checkIndex(classId, classCount) * CLASS_BYTES);
+	}
+
+	/**
+	 * @param classId A class id.
+	 * @return The orbit size of the lex-minimal tile of that class.
+	 * @throws IndexOutOfBoundsException If there is no class with that id.
+	 */
+	public int getOrbitSize(int classId){
+		return data.getShort(classes + Objects.checkIndex(classId, classCount) * CLASS_BYTES + 0x02);
+	}
+
+	/**
+	 * @param classId A class id.
+	 * @return The stabilizer size of the lex-minimal tile of that class.
+	 * @throws IndexOutOfBoundsException If there is no class with that id.
+	 */
+	public int getStabilizerSize(int classId){
+		return data.getShort(classes + Objects.checkIndex(classId, classCount) * CLASS_BYTES + 0x04);
+	}
+
+	/**
+	 * @param mask Any tile, as a mask.
+	 * @return The id of its tile class.
+	 * @throws IndexOutOfBoundsException If the mask has bits outside the 12 arms.
+	 */
+	public int getClassId(int mask){	return data.getShort(ids + (checkMask(mask) << 0x01));	}
+
+	/**
+	 * @param mask Any tile, as a mask.
+	 * @return The lex-minimal tile it is rotationally symmetric to, as a mask.
+	 */
+	public int getRepresentative(int mask){	return getClassRepresentative(getClassId(mask));	}
+
+	/**
+	 * @param mask Any tile, as a mask.
+	 * @return The element which turns the tile into its representative, as
+	 * {@link CanonicalTable#getElementId} numbers them.
+	 * @throws IndexOutOfBoundsException If the mask has bits outside the 12 arms.
+	 * @see CanonicalTable#orient
+	 */
+	public int getElementId(int mask){	return data.getShort(elements + (checkMask(mask) << 0x01));	}
+
+	/**
+	 * @param mask Any tile, as a mask.
+	 * @return The rotations making up the element which turns the tile into its
+	 * representative, as {@link CanonicalTable#getRotTrack} gives them.
+	 */
+	public int getRotTrack(int mask){	return CanonicalTable.rotTrack(getElementId(mask));	}
+
+	private static int checkMask(int mask){
+		if((mask & ~Tile.FULL) != 0x00)
+			throw new IndexOutOfBoundsException("Mask 0x" + Integer.toHexString(mask) +
+												" has bits outside the 12 arms");
+		return mask;
+	}
+
+	/**
+	 * This is a test driver which writes a catalog for each combination of
+	 * settings to a temporary file, loads it back, and checks every query against
+	 * {@link CanonicalTable} and {@link OrbitStabilizer}, exiting with status 1
+	 * if any of them differ.
+	 * It doesn't care about args.
+	 */
+	public static void main(String args[]) throws IOException{
+		boolean same = true;
+		for(int pass = 0x00; pass < 0x04; pass++){
+			SymmetryEngine e = new SymmetryEngine((pass & 0x01) == 0x00, pass >= 0x02, null);
+			CanonicalTable table = e.getCanonicalTable();
+			Path file = Files.createTempFile("tiles", ".cat");
+			try{
+				new TileCatalog(e).write(file);
+				long start = System.nanoTime();
+				TileCatalog cat = TileCatalog.load(file);
+				long elapsed = System.nanoTime() - start;
+
+				same &= cat.getUseExtra() == e.getUseExtra() &&
+						cat.getUseReflections() == e.getUseReflections() &&
+						cat.getClassCount() == table.getClassCount();
+				for(int n = 0x00; n <= Tile.LENGTH + 0x01; n++)
+					same &= cat.getFirstClass(n) == table.getFirstClass(n);
+				for(int id = 0x00; id < table.getClassCount(); id++){
+					OrbitStabilizer os = e.orbitStabilizer(table.getClassRepresentative(id));
+					same &= cat.getClassRepresentative(id) == table.getClassRepresentative(id) &&
+							cat.getOrbitSize(id) == os.getOrbitSize() &&
+							cat.getStabilizerSize(id) == os.getStabilizerSize();
+				}
+				for(int mask = 0x00; mask < Tile.COUNT; mask++)
+					same &= cat.getClassId(mask) == table.getClassId(mask) &&
+							cat.getRepresentative(mask) == table.getRepresentative(mask) &&
+							cat.getElementId(mask) == table.getElementId(mask) &&
+							cat.getRotTrack(mask) == table.getRotTrack(mask);
+				same &= outOfRange(() -> cat.getFirstClass(-0x01)) &&
+						outOfRange(() -> cat.getFirstClass(Tile.LENGTH + 0x02)) &&
+						outOfRange(() -> cat.getClassRepresentative(-0x01)) &&
+						outOfRange(() -> cat.getOrbitSize(cat.getClassCount())) &&
+						outOfRange(() -> cat.getStabilizerSize(cat.getClassCount())) &&
+						outOfRange(() -> cat.getClassId(Tile.COUNT)) &&
+						outOfRange(() -> cat.getElementId(-0x01));
+				System.out.println("Special cases " + (e.getUseExtra() ? "on" : "off") +
+								   (e.getUseReflections() ? ", reflections on" : "") + ": " +
+								   Files.size(file) + " bytes, loaded in " +
+								   (elapsed / 1000) + " us\t" + (same ? "same" : "DIFFERENT"));
+			} finally{
+				Files.delete(file);
+			}
+		}
+		if(!same) System.exit(0x01);
+	}
+
+	private static boolean outOfRange(Runnable query){
+		try{
+			query.run();
+			return false;
+		} catch(IndexOutOfBoundsException ex){
+			return true;
+		}
+	}
+}
@@ -0,0 +1,198 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry;
+
+import java.util.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * A TileQueryIndex finds every tile type that can be turned to have some arms
+ * and not others, leaving the rest free, along with each way of turning it.
+ * <p>
+ * The 4096 tiles are laid out in slots sorted by class id, so each class holds
+ * a run of slots, and each arm has a bitset posting of the slots whose tiles
+ * have that arm. A query ANDs the postings of the required arms with the
+ * complements of the postings of the forbidden ones, 64 tiles to a word, and
+ * the classes come straight out of the runs the surviving slots fall in.
+ * Nothing is enumerated per query beyond the matches themselves.
+ * @see TileCatalog
+ */
+public final class TileQueryIndex{
+
+	private static final int WORDS = Tile.COUNT >>> 0x06;
+
+	private final TileCatalog catalog;
+	private final short[] slots;			// Indexed by slot: the tile in it
+	private final short[] slotClasses;		// Indexed by slot
+	private final int[] firstSlot;			// Indexed by class id, up to the class count
+	private final long[][] postings;		// Indexed by arm, then word
+
+	/**
+	 * A Result holds the tiles matching one query, grouped by class.
+	 */
+	public final class Result{
+		private final long[] matches;		// Bitset over slots
+		private final int[] classIds;
+
+		private Result(long[] m){
+			matches = m;
+			int[] ids = new int[catalog.getClassCount()];
+			int count = 0x00, last = -1;
+			for(int w = 0x00; w < WORDS; w++)
+				for(long bits = matches[w]; bits != 0x00; bits &= bits - 0x01){
+					int id = slotClasses[(w << 0x06) + Long.numberOfTrailingZeros(bits)];
+					if(id != last) ids[count++] = last = id;
+				}
+			classIds = Arrays.copyOf(ids, count);
+		}
+
+		/**
+		 * @return The number of matching tile classes.
+		 */
+		public int getClassCount(){	return classIds.length;	}
+
+		/**
+		 * @return A copy of the ids of the matching tile classes, in increasing order.
+		 */
+		public int[] getClassIds(){	return classIds.clone();	}
+
+		/**
+		 * @return The number of matching tiles, over all classes.
+		 */
+		public int getTileCount(){
+			int count = 0x00;
+			for(long word : matches)
+				count += Long.bitCount(word);
+			return count;
+		}
+
+		/**
+		 * @param classId A class id.
+		 * @return The tiles of that class matching the query, as masks, in increasing
+		 * order; each is one way the class's lex-minimal tile can be turned to match.
+		 */
+		public int[] getTiles(int classId){
+			int[] tiles = new int[firstSlot[classId + 0x01] - firstSlot[classId]];
+			int count = 0x00;
+			for(int slot = firstSlot[classId]; slot < firstSlot[classId + 0x01]; slot++)
+				if((matches[slot >>> 0x06] & (0x01L << (slot & 0x3f))) != 0x00) tiles[count++] = slots[slot];
+			return Arrays.copyOf(tiles, count);
+		}
+
+		/**
+		 * @param classId A class id.
+		 * @return For each tile {@link #getTiles} gives, the element turning it
+		 * into the class's lex-minimal tile, as {@link TileCatalog#getElementId} gives them.
+		 */
+		public int[] getElementIds(int classId){
+			int[] tiles = getTiles(classId);
+			for(int i = 0x00; i < tiles.length; i++)
+				tiles[i] = catalog.getElementId(tiles[i]);
+			return tiles;
+		}
+	}
+
+	/**
+	 * Builds the index.
+	 * @param cat The catalog to take the classes from.
+	 */
+	public TileQueryIndex(TileCatalog cat){
+		catalog = cat;
+		slots = new short[Tile.COUNT];
+		slotClasses = new short[Tile.COUNT];
+		firstSlot = new int[cat.getClassCount() + 0x01];
+		postings = new long[Tile.LENGTH][WORDS];
+
+		/* Count the tiles of each class, then deal them out into their runs */
+		for(int mask = 0x00; mask < Tile.COUNT; mask++)
+			firstSlot[cat.getClassId(mask) + 0x01]++;
+		for(int id = 0x00; id < cat.getClassCount(); id++)
+			firstSlot[id + 0x01] += firstSlot[id];
+		int[] next = Arrays.copyOf(firstSlot, cat.getClassCount());
+		for(int mask = 0x00; mask < Tile.COUNT; mask++){
+			int id = cat.getClassId(mask);
+			int slot = next[id]++;
+			slots[slot] = (short)mask;
+			slotClasses[slot] = (short)id;
+			for(int arm = 0x00; arm < Tile.LENGTH; arm++)
+				if((mask & (0x01 << arm)) != 0x00) postings[arm][slot >>> 0x06] |= 0x01L << (slot & 0x3f);
+		}
+	}
+
+	/**
+	 * @return The catalog the classes come from.
+	 */
+	public TileCatalog getCatalog(){	return catalog;	}
+
+	/**
+	 * Finds every tile with all of some arms and none of some others.
+	 * @param required The arms a tile must have, as a mask.
+	 * @param forbidden The arms a tile mustn't have, as a mask.
+	 * @return The matching tiles, by class. If an arm is both required and
+	 * forbidden, nothing matches.
+	 * @throws IllegalArgumentException If either mask isn't a tile.
+	 */
+	public Result query(int required, int forbidden){
+		if(required < 0x00 || required >= Tile.COUNT || forbidden < 0x00 || forbidden >= Tile.COUNT)
+			throw new IllegalArgumentException("mask out of range");
+		long[] matches = new long[WORDS];
+		Arrays.fill(matches, -0x01L);
+		for(int arm = 0x00; arm < Tile.LENGTH; arm++){
+			if((required & (0x01 << arm)) != 0x00)
+				for(int w = 0x00; w < WORDS; w++) matches[w] &= postings[arm][w];
+			if((forbidden & (0x01 << arm)) != 0x00)
+				for(int w = 0x00; w < WORDS; w++) matches[w] &= ~postings[arm][w];
+		}
+		return new Result(matches);
+	}
+
+	/**
+	 * This is a test driver which runs a few thousand random queries, with each
+	 * setting, and checks them against trying every tile, exiting with status 1
+	 * if any differ.
+	 * It doesn't care about args.
+	 */
+	public static void main(String args[]){
+		Random r = new Random(0x2012);
+		boolean same = true;
+		for(int pass = 0x00; pass < 0x04; pass++){
+			SymmetryEngine e = new SymmetryEngine((pass & 0x01) == 0x00, (pass & 0x02) != 0x00, null);
+			TileCatalog cat = new TileCatalog(e);
+			TileQueryIndex index = new TileQueryIndex(cat);
+			CanonicalTable table = e.getCanonicalTable();
+			long start = System.nanoTime();
+			int queries = 0x1000, found = 0x00;
+			for(int q = 0x00; q < queries; q++){
+				int required = r.nextInt(Tile.COUNT) & r.nextInt(Tile.COUNT) & r.nextInt(Tile.COUNT);
+				int forbidden = r.nextInt(Tile.COUNT) & r.nextInt(Tile.COUNT) & r.nextInt(Tile.COUNT);
+				Result result = index.query(required, forbidden);
+				found += result.getClassCount();
+
+				BitSet ids = new BitSet();
+				int tiles = 0x00;
+				for(int mask = 0x00; mask < Tile.COUNT; mask++){
+					if((mask & required) != required || (mask & forbidden) != 0x00) continue;
+					tiles++;
+					ids.set(cat.getClassId(mask));
+				}
+				int[] classIds = result.getClassIds();
+				same &= Arrays.equals(classIds, ids.stream().toArray()) && result.getTileCount() == tiles;
+				for(int i = 0x00; same && i < classIds.length; i++){
+					int[] matches = result.getTiles(classIds[i]);
+					int[] elements = result.getElementIds(classIds[i]);
+					same &= matches.length > 0x00;
+					for(int j = 0x00; j < matches.length; j++)
+						same &= (matches[j] & required) == required && (matches[j] & forbidden) == 0x00 &&
+								cat.getClassId(matches[j]) == classIds[i] &&
+								CanonicalTable.orient(elements[j], matches[j]) == table.getClassRepresentative(classIds[i]);
+				}
+			}
+			System.out.println("Extra: " + e.getUseExtra() + "\tReflections: " + e.getUseReflections() +
+							   "\t" + queries + " queries, " + found + " classes found, in " +
+							   ((System.nanoTime() - start) / 1000000) + " ms (with checking)\t" +
+							   (same ? "same" : "DIFFERENT"));
+		}
+		if(!same) System.exit(0x01);
+	}
+}
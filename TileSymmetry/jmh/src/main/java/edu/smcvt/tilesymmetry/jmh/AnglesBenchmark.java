@@ -0,0 +1,49 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * Measures grouping tiles by the angles between their arms, for all 4096
+ * tiles at once and for a single tile, and the fingerprint lookup behind it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnglesBenchmark{
+
+	private Tile[] tiles;
+	private int next;
+
+	@Setup
+	public void setup(){
+		tiles = new Tile[Tile.COUNT];
+		for(int mask = 0x00; mask < Tile.COUNT; mask++)
+			tiles[mask] = new Tile(mask);
+	}
+
+	@Benchmark
+	public CuboctahedronLUT computeAnglesAll(){
+		CuboctahedronLUT grouper = new CuboctahedronLUT();
+		for(Tile tile : tiles)
+			grouper.computeAngles(tile);
+		return grouper;
+	}
+
+	@Benchmark
+	public CuboctahedronLUT computeAnglesOne(){
+		CuboctahedronLUT grouper = new CuboctahedronLUT();
+		grouper.computeAngles(tiles[next++ & 0x0fff]);
+		return grouper;
+	}
+
+	@Benchmark
+	public long getFingerprint(){	return CuboctahedronLUT.getFingerprint(next++ & 0x0fff);	}
+}
@@ -0,0 +1,34 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry.jmh;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Runs the benchmarks with JMH's usual command line, always adding the gc
+ * profiler, so every run reports allocation per operation alongside the times.
+ * Listing and help options are passed straight on to JMH.
+ */
+public final class Benchmarks{
+
+	private Benchmarks(){}
+
+	public static void main(String args[]) throws Exception{
+		CommandLineOptions cl = new CommandLineOptions(args);
+		if(cl.shouldHelp() || cl.shouldList() || cl.shouldListWithParams() ||
+		   cl.shouldListProfilers() || cl.shouldListResultFormats()){
+			Main.main(args);
+			return;
+		}
+		boolean gc = false;
+		for(ProfilerConfig p : cl.getProfilers())
+			gc |= p.getKlass().equals("gc") || p.getKlass().equals(GCProfiler.class.getName());
+		ChainedOptionsBuilder opts = new OptionsBuilder().parent(cl);
+		if(!gc) opts = opts.addProfiler(GCProfiler.class);
+		new Runner(opts.build()).run();
+	}
+}
@@ -0,0 +1,43 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry.jmh;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * Measures building a {@link Combo} for each number of arms, both by orbit
+ * and by angle grouping, and streaming the same tiles instead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumerationBenchmark{
+
+	@Param({"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12"})
+	public int n;
+
+	@Param({"true", "false"})
+	public boolean byOrbit;
+
+	private SymmetryEngine engine;
+
+	@Setup
+	public void setup(){	engine = SymmetryEngine.DEFAULT;	}
+
+	@Benchmark
+	public LinkedList<Tile> combo(){	return new Combo(n, byOrbit, engine).getTiles();	}
+
+	@Benchmark
+	public long classesStream(){	return Combo.classes(n, engine, false).count();	}
+
+	@Benchmark
+	public long masksStream(){	return Combo.masks(n, true, false).sum();	}
+
+}
@@ -0,0 +1,41 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * Measures the query path behind TileDriver -lm: parsing a line of arm
+ * names into a mask and looking up its lex-minimal tile.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark{
+
+	private static final String[] LINES = {	"g3, b1, a2", "b4 g2 a3 a1 b2 g1", "g4, g3, g2, g1" };
+
+	private CanonicalTable table;
+	private int next;
+
+	@Setup
+	public void setup(){	table = SymmetryEngine.DEFAULT.getCanonicalTable();	}
+
+	@Benchmark
+	public int parseAndLookup(){
+		String[] arms = LINES[next++ % LINES.length].split(",*\\s+");
+		int mask = 0x00;
+		for(String arm : arms)
+			mask |= 0x01 << CuboctahedronSymmetry.a2I(arm.toLowerCase());
+		return table.getRepresentative(mask);
+	}
+
+	@Benchmark
+	public int lookup(){	return table.getRepresentative(next++ & 0x0fff);	}
+}
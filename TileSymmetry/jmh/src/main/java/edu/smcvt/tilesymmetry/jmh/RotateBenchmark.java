@@ -0,0 +1,51 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * Measures each of the generator rotations, on masks and on bit strings,
+ * along with a single lookup in {@link SymmetryTable} for comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RotateBenchmark{
+
+	private int mask;
+	private boolean[] bitString;
+
+	@Setup
+	public void setup(){
+		mask = 0x0527;
+		bitString = Tile.unpack(mask);
+	}
+
+	@Benchmark
+	public int rotateAroundAlpha1(){	return CuboctahedronSymmetry.rotateAroundAlpha1(mask);	}
+
+	@Benchmark
+	public int rotateAlphaPlane(){	return CuboctahedronSymmetry.rotateAlphaPlane(mask);	}
+
+	@Benchmark
+	public int rotateBetaToAlpha(){	return CuboctahedronSymmetry.rotateBetaToAlpha(mask);	}
+
+	@Benchmark
+	public boolean[] rotateAroundAlpha1BitString(){	return CuboctahedronSymmetry.rotateAroundAlpha1(bitString);	}
+
+	@Benchmark
+	public boolean[] rotateAlphaPlaneBitString(){	return CuboctahedronSymmetry.rotateAlphaPlane(bitString);	}
+
+	@Benchmark
+	public boolean[] rotateBetaToAlphaBitString(){	return CuboctahedronSymmetry.rotateBetaToAlpha(bitString);	}
+
+	@Benchmark
+	public int tableApply(){	return SymmetryTable.CUBOCTAHEDRON.apply(0x01, mask);	}
+}
@@ -0,0 +1,65 @@
+// Copyright 2012 Thomas Dickerson & Andrew Parent
+// Distributed under the terms of the GNU Lesser General Public License
+// (http://www.gnu.org/licenses/lgpl.html)
+package edu.smcvt.tilesymmetry.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import edu.smcvt.tilesymmetry.*;
+
+/**
+ * Measures the symmetry tests on three kinds of pairs: a tile against one of
+ * its own rotations, a tile against a different tile with the same angles
+ * between its arms (so every rotation has to be tried), and a tile against
+ * one whose angles already tell them apart. Each setting gets an engine of its
+ * own, so nothing global is changed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SymmetryBenchmark{
+
+	@Param({"true", "false"})
+	public boolean extra;
+
+	private SymmetryEngine engine;
+	private int tile, rotated, lookalike, different;
+
+	@Setup
+	public void setup(){
+		SymmetryTable table = SymmetryTable.CUBOCTAHEDRON;
+		engine = new SymmetryEngine(extra);
+
+		/* A six armed tile, and the last rotation of it areSymmetric gets to */
+		tile = 0x0527;
+		for(int id = 0x00; id < table.size(); id++)
+			if(engine.apply(id, tile) >= 0x00) rotated = engine.apply(id, tile);
+
+		/* The first tile with the same fingerprint which isn't symmetric to it */
+		long fp = CuboctahedronLUT.getFingerprint(tile);
+		for(int mask = 0x00; mask < Tile.COUNT; mask++)
+			if(CuboctahedronLUT.getFingerprint(mask) == fp && !engine.areSymmetric(tile, mask)){
+				lookalike = mask;
+				break;
+			}
+		different = 0x003f;
+	}
+
+	@Benchmark
+	public boolean areSymmetricMatching(){	return engine.areSymmetric(tile, rotated);	}
+
+	@Benchmark
+	public boolean areSymmetricLookalike(){	return engine.areSymmetric(tile, lookalike);	}
+
+	@Benchmark
+	public boolean areSymmetricDifferent(){	return engine.areSymmetric(tile, different);	}
+
+	@Benchmark
+	public boolean isEquivalentMatching(){	return engine.isEquivalent(tile, rotated);	}
+
+	@Benchmark
+	public boolean isEquivalentLookalike(){	return engine.isEquivalent(tile, lookalike);	}
+}